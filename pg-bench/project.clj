@@ -22,6 +22,8 @@
    [ring/ring-core]
    [ring/ring-jetty-adapter]]
 
+  :java-source-paths ["src/java"]
+
   :main pg.bench
 
   :parent-project
@@ -0,0 +1,50 @@
+package org.pg.bench;
+
+import org.pg.error.PGError;
+import org.pg.processor.IProcessor;
+
+/*
+The previous lookup structure of Processors: just a bit faster
+than HashMap :) Kept here to compare with the flat table.
+ */
+public final class ToyMap {
+
+    private record Node (int oid, IProcessor processor) {}
+
+    final static int RANGE = 91;
+    final static int SPACE = 3;
+    final private Node[][] cells;
+
+    public ToyMap() {
+        cells = new Node[RANGE][SPACE];
+    }
+
+    public void set(final int oid, final IProcessor processor) {
+        final int i = oid % RANGE;
+        final Node[] list = cells[i];
+        int j;
+        for (j = 0; j < SPACE; j++) {
+            if (list[j] == null || list[j].oid == oid) {
+                break;
+            }
+        }
+        if (j == list.length) {
+            throw new PGError("The node list is full, oid: %s, space: %s",
+                    oid, SPACE);
+        }
+        list[j] = new Node(oid, processor);
+    }
+    public IProcessor get(final int oid) {
+        if (oid < 0) return null;
+        final int i = oid % RANGE;
+        Node[] list = cells[i];
+        for (int j = 0; j < SPACE; j++) {
+            if (list[j] == null) {
+                return null;
+            } else if (list[j].oid == oid) {
+                return list[j].processor;
+            }
+        }
+        return null;
+    }
+}
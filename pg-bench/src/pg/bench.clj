@@ -16,6 +16,9 @@
    java.util.concurrent.ExecutorService
    java.util.concurrent.Executors
    org.pg.Connection
+   org.pg.bench.ToyMap
+   org.pg.processor.Processors
+   org.pg.util.IntMap
    org.postgresql.copy.CopyManager
    org.postgresql.util.PGobject)
   (:use criterium.core)
@@ -267,6 +270,49 @@ from
     (-> out .toByteArray io/input-stream)))
 
 
+;;
+;; Processor lookup
+;;
+
+(def LOOKUP_OIDS
+  (int-array [oid/int4 oid/text oid/timestamptz oid/jsonb
+              oid/uuid oid/_int4 oid/numeric oid/bool]))
+
+
+(defn lookup-toy-map ^long [^ToyMap m ^ints oids]
+  (areduce oids i acc 0
+           (if (.get m (aget oids i)) (inc acc) acc)))
+
+
+(defn lookup-table ^long [^ints oids]
+  (areduce oids i acc 0
+           (if (Processors/getProcessor (aget oids i)) (inc acc) acc)))
+
+
+(defn lookup-hash-map ^long [^HashMap m ^ints oids]
+  (areduce oids i acc 0
+           (if (.get m (Integer/valueOf (aget oids i))) (inc acc) acc)))
+
+
+(defn lookup-int-map ^long [^IntMap m ^ints oids]
+  (areduce oids i acc 0
+           (if (.get m (aget oids i)) (inc acc) acc)))
+
+
+(defn fill-lookup-maps []
+  (let [toy-map (new ToyMap)
+        hash-map (new HashMap)
+        int-map (new IntMap)]
+    (doseq [oid LOOKUP_OIDS]
+      (let [processor (Processors/getProcessor oid)]
+        (.set toy-map oid processor)
+        (.put hash-map (Integer/valueOf (int oid)) processor)
+        (.put int-map (int oid) processor)))
+    {:toy-map toy-map
+     :hash-map hash-map
+     :int-map int-map}))
+
+
 (defn -main [& args]
 
   #_
@@ -648,4 +694,28 @@ from
                            [QUERY_SELECT_JSON]
                            {:as rs/as-unqualified-maps})))))
 
+
+  #_
+  (with-title "processor lookup: toy map (before)"
+    (let [{:keys [toy-map]} (fill-lookup-maps)]
+      (quick-bench
+          (lookup-toy-map toy-map LOOKUP_OIDS))))
+
+  #_
+  (with-title "processor lookup: flat table"
+    (quick-bench
+        (lookup-table LOOKUP_OIDS)))
+
+  #_
+  (with-title "processor lookup: HashMap"
+    (let [{:keys [hash-map]} (fill-lookup-maps)]
+      (quick-bench
+          (lookup-hash-map hash-map LOOKUP_OIDS))))
+
+  #_
+  (with-title "processor lookup: IntMap"
+    (let [{:keys [int-map]} (fill-lookup-maps)]
+      (quick-bench
+          (lookup-int-map int-map LOOKUP_OIDS))))
+
   )
@@ -11,7 +11,9 @@
   (:import
    org.pg.Config
    org.pg.Config$Builder
-   org.pg.enums.SSLValidation))
+   org.pg.enums.OverflowPolicy
+   org.pg.enums.SSLValidation
+   org.pg.enums.VectorMode))
 
 
 (defn ->SSLValidation
@@ -31,6 +33,46 @@
     (error! "unknown ssl validation value: %s" x)))
 
 
+(defn ->VectorMode
+  "
+  Coerce a Clojure value to VectorMode enum.
+  "
+  ^VectorMode [x]
+  (case x
+
+    (nil :vector "vector")
+    VectorMode/VECTOR
+
+    (:array "array")
+    VectorMode/ARRAY
+
+    (:buffer "buffer")
+    VectorMode/BUFFER
+
+    ;; default
+    (error! "unknown vector mode: %s" x)))
+
+
+(defn ->OverflowPolicy
+  "
+  Coerce a Clojure value to OverflowPolicy enum.
+  "
+  ^OverflowPolicy [x]
+  (case x
+
+    (nil :block "block")
+    OverflowPolicy/BLOCK
+
+    (:drop-newest "drop-newest")
+    OverflowPolicy/DROP_NEWEST
+
+    (:drop-oldest "drop-oldest")
+    OverflowPolicy/DROP_OLDEST
+
+    ;; default
+    (error! "unknown overflow policy: %s" x)))
+
+
 (defn ->config
   "
   Turn a Clojure map into an instance of `Config` via `Config.Builder`.
@@ -73,6 +115,12 @@
                 ;; enc/dec format
                 binary-encode?
                 binary-decode?
+                primitive-arrays?
+                vector-mode
+                raw-json?
+                preload-types?
+                type-catalog-file
+                money-scale
 
                 ;; copy in/out
                 in-stream-buf-size
@@ -82,6 +130,7 @@
                 fn-notification
                 fn-protocol-version
                 fn-notice
+                notification-dispatcher
 
                 ;; ssl
                 use-ssl? ;; deprecated
@@ -153,6 +202,24 @@
       (some? binary-decode?)
       (.binaryDecode binary-decode?)
 
+      (some? primitive-arrays?)
+      (.primitiveArrays primitive-arrays?)
+
+      vector-mode
+      (.vectorMode (->VectorMode vector-mode))
+
+      (some? raw-json?)
+      (.rawJSON raw-json?)
+
+      (some? preload-types?)
+      (.preloadTypes preload-types?)
+
+      type-catalog-file
+      (.typeCatalogFile (str type-catalog-file))
+
+      money-scale
+      (.moneyScale money-scale)
+
       in-stream-buf-size
       (.inStreamBufSize in-stream-buf-size)
 
@@ -186,6 +253,9 @@
       fn-notice
       (.fnNotice fn-notice)
 
+      notification-dispatcher
+      (.notificationDispatcher notification-dispatcher)
+
       (some? so-keep-alive?)
       (.SOKeepAlive so-keep-alive?)
 
@@ -5,6 +5,7 @@
   (:require
    [clojure.string :as str]
    [pg.common :refer [error!]]
+   [pg.config :as config]
    [pg.execute-params :refer [->execute-params]]
    [pg.source :as src]
    [pg.ssl #_(load a reader tag)] )
@@ -13,6 +14,7 @@
                  Keyword
                  Named)
    com.fasterxml.jackson.databind.ObjectMapper
+   java.io.File
    java.io.InputStream
    java.io.OutputStream
    java.io.Reader
@@ -20,7 +22,9 @@
    java.lang.AutoCloseable
    java.net.URI
    java.nio.ByteBuffer
+   java.nio.channels.WritableByteChannel
    java.nio.charset.Charset
+   java.nio.file.Path
    java.time.ZoneId
    java.util.List
    java.util.Map
@@ -29,8 +33,11 @@
    org.pg.Config
    org.pg.Config$Builder
    org.pg.Connection
+   org.pg.Const
+   org.pg.Dispatcher
    org.pg.ExecuteParams
    org.pg.ExecuteParams$Builder
+   org.pg.Listener
    org.pg.Pool
    org.pg.PreparedStatement
    org.pg.clojure.RowMap
@@ -440,6 +447,85 @@
                 (->execute-params))))))
 
 
+(defn copy-out-channel
+  "
+  Like `copy-out` but write the data into a `WritableByteChannel`
+  (a `FileChannel`, a socket channel, etc). Payloads of CopyData
+  messages are moved from the connection's input buffer into
+  a reusable buffer of `:copy-buf-size` bytes which is written
+  into the channel once full. The channel is not closed afterwards.
+
+  Return a map with the number of rows copied (`:copied`), bytes
+  written (`:bytes`) and the speed (`:bytes-per-sec`).
+  "
+  ([src ^String sql ^WritableByteChannel channel]
+   (copy-out-channel src sql channel nil))
+
+  ([src ^String sql ^WritableByteChannel channel ^Map opt]
+   (with-conn [conn src]
+     (.copy conn
+            sql
+            (-> opt
+                (assoc :output-channel channel)
+                (->execute-params))))))
+
+
+(defn- ->path ^Path [file]
+  (cond
+    (instance? Path file) file
+    (instance? File file) (.toPath ^File file)
+    :else (.toPath (new File (str file)))))
+
+
+(defn copy-out-file
+  "
+  Like `copy-out-channel` but write the data into a file which
+  gets created or truncated. The `file` is a string, a `File`
+  or a `Path`. With the `:mmap-size` option (bytes), the file is
+  mapped into memory by regions of that size and preallocated
+  accordingly; at the end, it's truncated to the actual size.
+  A good region size is close to the expected size of the dump.
+
+  Return a map with `:copied`, `:bytes` and `:bytes-per-sec`.
+  "
+  ([src ^String sql file]
+   (copy-out-file src sql file nil))
+
+  ([src ^String sql file ^Map opt]
+   (with-conn [conn src]
+     (.copy conn
+            sql
+            (-> opt
+                (assoc :output-file (->path file))
+                (->execute-params))))))
+
+
+(defn copy-out-rows
+  "
+  Like `copy-out` but instead of writing bytes into a stream,
+  parse the COPY data and decode each row into a vector of values.
+  The SQL expression must specify either TEXT or BINARY format,
+  and the `opt` map must have the same format (`:copy-tab?` or
+  `:copy-bin?`). Pass `:oids` to decode values of the columns;
+  values of columns without an OID come as strings (TEXT) or
+  byte arrays (BINARY). BINARY is the fastest way to get rows
+  in bulk.
+
+  Rows are passed into the reducer like in `execute`, so
+  `:as`, `:first`, `:column` and other folding options work.
+  "
+  ([src ^String sql]
+   (copy-out-rows src sql nil))
+
+  ([src ^String sql ^Map opt]
+   (with-conn [conn src]
+     (.copy conn
+            sql
+            (-> opt
+                (assoc :copy-out-rows? true)
+                (->execute-params))))))
+
+
 (defn copy-in
   "
   Transfer the data from the client to the server using
@@ -706,7 +792,9 @@
 
 (defn clear-type-cache
   "
-  Drop internal caches related to Postgres types.
+  Drop internal caches related to Postgres types. For a pooled
+  connection, it clears the registry shared by all the pools
+  connected to the same host, port and database.
   "
   [^Connection conn]
   (.clearTypeCache conn))
@@ -737,18 +825,71 @@
 
 (defn listen
   "
-  Subscribe a connection to a given channel.
+  Subscribe a connection or a listener to a given channel.
   "
-  [^Connection conn ^String channel]
-  (.listen conn channel))
+  [conn ^String channel]
+  (if (instance? Listener conn)
+    (.listen ^Listener conn channel)
+    (.listen ^Connection conn channel)))
 
 
 (defn unlisten
   "
-  Unsubscribe a connection from a given channel.
+  Unsubscribe a connection or a listener from a given channel.
+  "
+  [conn ^String channel]
+  (if (instance? Listener conn)
+    (.unlisten ^Listener conn channel)
+    (.unlisten ^Connection conn channel)))
+
+
+(defn listener
+  "
+  Open a dedicated connection for LISTEN. A background thread
+  blocks on the socket and passes each notification to the
+  `:fn-notification` handler (either from the config or the
+  second argument) as soon as it arrives. No queries are sent
+  to poll the server. Subscribe with `listen`, stop with
+  `.close` or `with-open`.
   "
-  [^Connection conn ^String channel]
-  (.unlisten conn channel))
+  (^Listener [config]
+   (Listener/start (config/->config config)))
+
+  (^Listener [config fn-notification]
+   (listener (assoc config :fn-notification fn-notification))))
+
+
+(defn dispatcher
+  "
+  Make a dispatcher to run notification handlers in a fixed
+  pool of workers. Notifications of the same channel are handled
+  in order. Pass it into the config as `:notification-dispatcher`;
+  it can be shared across connections. Options:
+  - `:workers`: the number of threads (4 by default);
+  - `:queue-size`: the capacity of a worker's queue (1024);
+  - `:overflow`: what to do when a queue is full: `:block`
+    (the default), `:drop-newest` or `:drop-oldest`.
+  Close it with `.close` once not needed.
+  "
+  (^Dispatcher []
+   (dispatcher nil))
+
+  (^Dispatcher [{:keys [workers queue-size overflow]}]
+   (new Dispatcher
+        (or workers Const/DISPATCHER_WORKERS)
+        (or queue-size Const/DISPATCHER_QUEUE_SIZE)
+        (config/->OverflowPolicy overflow))))
+
+
+(defn dispatcher-stats
+  "
+  Return a map of dispatcher metrics: the current queue depth
+  (total and per worker), the number of submitted, handled,
+  failed and dropped notifications, the average time spent
+  in a queue, and the average and max handler latency (ms).
+  "
+  [^Dispatcher dispatcher]
+  (.stats dispatcher))
 
 
 (defn notify
@@ -839,7 +980,10 @@
                 ^String date-style
                 ^String time-zone-id
                 ^Boolean integer-datetime?
-                ^ObjectMapper object-mapper]}
+                ^ObjectMapper object-mapper
+                ^Boolean primitive-arrays?
+                vector-mode
+                ^Boolean raw-json?]}
         opt]
 
     (cond-> ^CodecParams (CodecParams/create)
@@ -860,7 +1004,16 @@
       (.integerDatetime integer-datetime?)
 
       object-mapper
-      (.objectMapper object-mapper))))
+      (.objectMapper object-mapper)
+
+      (some? primitive-arrays?)
+      (.primitiveArrays primitive-arrays?)
+
+      vector-mode
+      (.vectorMode (config/->VectorMode vector-mode))
+
+      (some? raw-json?)
+      (.rawJSON raw-json?))))
 
 
 (defn- -get-processor ^IProcessor [oid]
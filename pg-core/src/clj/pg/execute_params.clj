@@ -26,6 +26,7 @@
 
                   ;; portal
                   max-rows
+                  timeout-ms
 
                   ;; keys
                   kebab-keys?
@@ -33,6 +34,9 @@
 
                   ;; streams
                   output-stream
+                  output-channel
+                  output-file
+                  mmap-size
                   input-stream
 
                   ;; fold/reduce
@@ -57,6 +61,9 @@
                   binary-encode?
                   binary-decode?
 
+                  ;; decoding
+                  intern-limit
+
                   ;; copy csv
                   csv-null
                   csv-sep
@@ -70,7 +77,9 @@
                   copy-tab?
                   copy-in-rows
                   copy-in-maps
-                  copy-in-keys]}
+                  copy-in-keys
+                  copy-in-thread?
+                  copy-out-rows?]}
           opt]
 
       (cond-> (ExecuteParams/builder)
@@ -84,9 +93,21 @@
         max-rows
         (.maxRows max-rows)
 
+        timeout-ms
+        (.timeoutMs timeout-ms)
+
         output-stream
         (.outputStream output-stream)
 
+        output-channel
+        (.outputChannel output-channel)
+
+        output-file
+        (.outputFile output-file)
+
+        mmap-size
+        (.mmapSize mmap-size)
+
         input-stream
         (.inputStream input-stream)
 
@@ -154,6 +175,9 @@
         (some? binary-decode?)
         (.binaryDecode binary-decode?)
 
+        intern-limit
+        (.internLimit intern-limit)
+
         csv-null
         (.CSVNull csv-null)
 
@@ -170,7 +194,7 @@
         (.setBin)
 
         copy-tab?
-        (.setBin)
+        (.setTab)
 
         copy-format
         (.copyFormat copy-format)
@@ -187,5 +211,11 @@
         copy-in-keys
         (.copyInKeys copy-in-keys)
 
+        (some? copy-in-thread?)
+        (.copyInThread copy-in-thread?)
+
+        (some? copy-out-rows?)
+        (.copyOutRows copy-out-rows?)
+
         :finally
         (.build)))))
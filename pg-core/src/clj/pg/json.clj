@@ -9,7 +9,8 @@
    java.io.OutputStream
    java.io.Reader
    java.io.Writer
-   org.pg.json.JSON))
+   org.pg.json.JSON
+   org.pg.json.RawJSON))
 
 
 (defn read-string
@@ -77,3 +78,20 @@
 
   (^String [^ObjectMapper object-mapper value]
    (JSON/writeValueToString object-mapper value)))
+
+
+(defn raw
+  "
+  Wrap a JSON string into a RawJSON object. When encoded,
+  the string gets written as is with no parsing.
+  "
+  ^RawJSON [^String input]
+  (RawJSON/ofString input))
+
+
+(defn raw?
+  "
+  True if the value is a raw JSON document.
+  "
+  [x]
+  (instance? RawJSON x))
@@ -17,9 +17,13 @@
   "
   (:require
    [pg.config :refer [->config]]
-   [pg.core :as pg])
+   [pg.core :as pg]
+   [pg.execute-params :refer [->execute-params]])
   (:import
+   clojure.lang.IReduceInit
+   java.io.InputStream
    java.io.Writer
+   java.util.Iterator
    java.util.Map
    java.util.UUID
    org.pg.Connection
@@ -68,6 +72,82 @@
   (.replenishConnections pool))
 
 
+;;
+;; Parallel COPY
+;;
+
+(defn copy-in-parallel
+  "
+  COPY IN a large source in parallel using several connections
+  from the pool. The source is either a collection of rows
+  (maybe lazy), an iterator or a reducible of rows (e.g. an eduction),
+  or an `InputStream` with CSV or TEXT data. The source is split into chunks; each chunk is sent by one
+  of the workers with `copy-in-rows` (or `copy-in`) semantics.
+  The HEADER option is not supported and leads to an error.
+
+  Options, in addition to the common COPY ones (format, OIDs, etc):
+
+  - `:workers`: number of connections to use, default 4;
+  - `:chunk-size`: number of rows per chunk, or bytes for
+    a stream; default 10000 rows or 1Mb;
+  - `:atomic?`: when true, each worker runs in a transaction,
+    and all of them get committed only if every chunk
+    succeeds. Otherwise, each chunk is committed on its own.
+
+  Return a map with the total number of rows `:copied`, the `:ok?`
+  flag, `:committed?` for atomic mode, and `:chunks`, a vector of
+  maps with chunk index, size, copied rows and an error, if any.
+  "
+  ([^Pool pool ^String sql src]
+   (copy-in-parallel pool sql src nil))
+
+  ([^Pool pool ^String sql src ^Map opt]
+   (let [{:keys [workers chunk-size atomic?]
+          :or {workers 4}}
+         opt
+
+         params
+         (->execute-params (dissoc opt :workers :chunk-size :atomic?))]
+
+     (cond
+
+       (instance? InputStream src)
+       (.copyInParallel pool
+                        sql
+                        ^InputStream src
+                        params
+                        (int workers)
+                        (int (or chunk-size (* 1024 1024)))
+                        (boolean atomic?))
+
+       (instance? Iterator src)
+       (.copyInParallel pool
+                        sql
+                        ^Iterator src
+                        params
+                        (int workers)
+                        (int (or chunk-size 10000))
+                        (boolean atomic?))
+
+       (instance? IReduceInit src)
+       (.copyInParallel pool
+                        sql
+                        ^IReduceInit src
+                        params
+                        (int workers)
+                        (int (or chunk-size 10000))
+                        (boolean atomic?))
+
+       :else
+       (.copyInParallel pool
+                        sql
+                        (.iterator ^Iterable (or (seq src) []))
+                        params
+                        (int workers)
+                        (int (or chunk-size 10000))
+                        (boolean atomic?))))))
+
+
 ;;
 ;; THE ABYSS OF DEPRECATED
 ;;
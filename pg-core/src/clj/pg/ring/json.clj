@@ -14,7 +14,9 @@
 (defn wrap-json-response
   "
   If the :body of the response is a collection, JSON-encode
-  it and add a corresponding HTTP header.
+  it and add a corresponding HTTP header. Raw JSON values
+  (see `pg.json/raw` and the `:raw-json?` connection option)
+  are embedded as is, either at the top or nested in a collection.
 
   Supports the following options:
 
@@ -26,8 +28,16 @@
 
   ([handler {:keys [object-mapper]}]
    (fn wrapper [request]
-     (let [response (handler request)]
-       (if (-> response :body coll?)
+     (let [response (handler request)
+           body (:body response)]
+       (cond
+
+         (json/raw? body)
+         (-> response
+             (assoc :body (str body))
+             (assoc-in [:headers "content-type"] CT_JSON))
+
+         (coll? body)
          (-> response
              (update :body
                      (^:once fn [body]
@@ -35,6 +45,8 @@
                         (pg.json/write-string object-mapper body)
                         (pg.json/write-string body))))
              (assoc-in [:headers "content-type"] CT_JSON))
+
+         :else
          response)))))
 
 
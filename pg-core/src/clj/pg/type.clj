@@ -1,5 +1,5 @@
 (ns pg.type
-  (:refer-clojure :exclude [vector])
+  (:refer-clojure :exclude [vector range])
   (:import
    java.util.Map
    java.io.Writer
@@ -10,7 +10,11 @@
                 Box
                 Polygon
                 Path
-                LineSegment)
+                LineSegment
+                Interval
+                Inet
+                MacAddress
+                Range)
    org.pg.error.PGError
    (org.pg.processor IProcessor
                      Processors)))
@@ -164,3 +168,68 @@
 
   (^LineSegment [x]
    (LineSegment/fromObject x)))
+
+;; interval
+
+(defn interval? [x]
+  (instance? Interval x))
+
+(defn interval
+  "
+  Make an instance of the Interval class from months, days
+  and microseconds, or from a Duration, a Period or a string.
+  "
+  (^Interval [months days micros]
+   (Interval/of months days micros))
+
+  (^Interval [x]
+   (Interval/fromObject x)))
+
+;; inet
+
+(defn inet? [x]
+  (instance? Inet x))
+
+(defn inet
+  "
+  Make an instance of the Inet class (an address with a prefix)
+  from an InetAddress or a string like 10.0.0.1/8. Host names
+  are not resolved.
+  "
+  (^Inet [address prefix]
+   (Inet/of (.address (Inet/fromObject address)) prefix))
+
+  (^Inet [x]
+   (Inet/fromObject x)))
+
+;; MAC address
+
+(defn mac-address? [x]
+  (instance? MacAddress x))
+
+(defn mac-address
+  "
+  Make an instance of the MacAddress class from a string
+  or a byte array of 6 or 8 bytes.
+  "
+  ^MacAddress [x]
+  (MacAddress/fromObject x))
+
+;; range
+
+(defn range? [x]
+  (instance? Range x))
+
+(def ^Range empty-range Range/EMPTY)
+
+(defn range
+  "
+  Make an instance of the Range class. A nil bound means
+  the range is unbounded on that side. By default, the lower
+  bound is inclusive and the upper one is exclusive: [lower, upper).
+  "
+  (^Range [lower upper]
+   (Range/of lower upper))
+
+  (^Range [lower upper lower-inclusive? upper-inclusive?]
+   (Range/of lower upper (boolean lower-inclusive?) (boolean upper-inclusive?))))
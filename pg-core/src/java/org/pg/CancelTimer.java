@@ -1,28 +1,68 @@
 package org.pg;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/*
+Sends a cancel request for a connection once the timeout
+has passed. All timers share one scheduler thread which only
+triggers the request: the request itself (a new connection)
+runs in the config's executor so a slow server doesn't delay
+other timers. A cancelled timer gets removed from the queue
+at once. If the timer has fired but the request is still waiting
+in the executor, the closed flag stops it so it doesn't hit the
+next query of the connection.
+ */
 public final class CancelTimer implements AutoCloseable {
 
-    private final Timer timer = new Timer();
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    private final ScheduledFuture<?> future;
+    private volatile boolean isClosed = false;
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, (final Runnable r) -> {
+            final Thread thread = new Thread(r, "pg-cancel-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
 
     public CancelTimer(final Connection conn) {
         this(conn, conn.getConfig().cancelTimeoutMs());
     }
 
     public CancelTimer(final Connection conn, final long msTimeout) {
-        final TimerTask task = new TimerTask() {
-            public void run() {
-                Connection.cancelRequest(conn);
-            }
-        };
-        timer.schedule(task, msTimeout);
+        future = scheduler.schedule(
+                () -> conn.getConfig().executor().execute(() -> {
+                    if (!isClosed) {
+                        Connection.cancelRequest(conn);
+                    }
+                }),
+                msTimeout,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    /*
+    Return a timer if the timeout is positive, or null otherwise.
+    A null resource is fine for try-with-resources.
+     */
+    public static CancelTimer maybeStart(final Connection conn, final long msTimeout) {
+        return msTimeout > 0 ? new CancelTimer(conn, msTimeout) : null;
+    }
+
+    @SuppressWarnings("unused")
+    public static int pendingCount() {
+        return scheduler.getQueue().size();
     }
 
     @Override
     public void close () {
-        timer.cancel();
+        isClosed = true;
+        future.cancel(false);
     }
 }
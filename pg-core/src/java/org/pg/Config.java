@@ -4,6 +4,7 @@ import clojure.lang.IFn;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.pg.enums.ConnType;
 import org.pg.enums.SSLValidation;
+import org.pg.enums.VectorMode;
 import org.pg.error.PGError;
 import org.pg.json.JSON;
 
@@ -35,6 +36,7 @@ public record Config(
         IFn fnNotification,
         IFn fnProtocolVersion,
         IFn fnNotice,
+        Dispatcher notificationDispatcher,
         SSLContext sslContext,
         SSLValidation sslValidation,
         long cancelTimeoutMs,
@@ -51,7 +53,13 @@ public record Config(
         IFn fnKeyTransform,
         boolean poolHealthCheckOn,
         String poolHealthCheckQuery,
-        long poolHealthCheckTimeoutMS
+        long poolHealthCheckTimeoutMS,
+        boolean primitiveArrays,
+        VectorMode vectorMode,
+        boolean rawJSON,
+        boolean preloadTypes,
+        String typeCatalogFile,
+        int moneyScale
 ) {
 
     public ConnType getConnType() {
@@ -62,6 +70,19 @@ public record Config(
         }
     }
 
+    /*
+    A string identifying the server and the database, e.g. to share
+    the types read from pg_type between connections.
+     */
+    public String serverIdentity() {
+        if (getConnType() == ConnType.UNIX_SOCKET) {
+            return String.format("unix:%s:%s/%s",
+                    unixSocketPath == null ? "" : unixSocketPath, port, database);
+        } else {
+            return String.format("%s:%s/%s", host, port, database);
+        }
+    }
+
     public static Builder builder (final String user, final String database) {
         return new Builder(user, database);
     }
@@ -92,6 +113,7 @@ public record Config(
         private IFn fnNotification;
         private IFn fnProtocolVersion;
         private IFn fnNotice;
+        private Dispatcher notificationDispatcher = null;
         private SSLContext sslContext = null;
         private SSLValidation sslValidation = Const.SSL_VALIDATION;
         private long cancelTimeoutMs = Const.MS_CANCEL_TIMEOUT;
@@ -109,6 +131,12 @@ public record Config(
         private boolean poolHealthCheckOn = Const.POOL_HEALTH_CHECK_ON;
         private String poolHealthCheckQuery = Const.POOL_HEALTH_CHECK_QUERY;
         private long poolHealthCheckTimeoutMS = Const.POOL_HEALTH_CHECK_TIMEOUT_MS;
+        private boolean primitiveArrays = Const.PRIMITIVE_ARRAYS;
+        private VectorMode vectorMode = Const.VECTOR_MODE;
+        private boolean rawJSON = Const.RAW_JSON;
+        private boolean preloadTypes = Const.PRELOAD_TYPES;
+        private String typeCatalogFile = null;
+        private int moneyScale = Const.MONEY_SCALE;
 
         public Builder(final String user, final String database) {
             this.user = Objects.requireNonNull(user, "User cannot be null");
@@ -166,6 +194,12 @@ public record Config(
             return this;
         }
 
+        @SuppressWarnings("unused")
+        public Builder notificationDispatcher(final Dispatcher notificationDispatcher) {
+            this.notificationDispatcher = notificationDispatcher;
+            return this;
+        }
+
         @SuppressWarnings("unused")
         public Builder fnProtocolVersion(final IFn fnProtocolVersion) {
             this.fnProtocolVersion = Objects.requireNonNull(
@@ -334,6 +368,45 @@ public record Config(
             return this;
         }
 
+        @SuppressWarnings("unused")
+        public Builder primitiveArrays(final boolean primitiveArrays) {
+            this.primitiveArrays = primitiveArrays;
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder vectorMode(final VectorMode vectorMode) {
+            this.vectorMode = Objects.requireNonNull(vectorMode, "Vector mode cannot be null");
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder rawJSON(final boolean rawJSON) {
+            this.rawJSON = rawJSON;
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder preloadTypes(final boolean preloadTypes) {
+            this.preloadTypes = preloadTypes;
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder typeCatalogFile(final String typeCatalogFile) {
+            this.typeCatalogFile = typeCatalogFile;
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder moneyScale(final int moneyScale) {
+            if (moneyScale < 0 || moneyScale > 6) {
+                throw new PGError("money scale must be between 0 and 6: %s", moneyScale);
+            }
+            this.moneyScale = moneyScale;
+            return this;
+        }
+
         @SuppressWarnings("unused")
         private void _validate() {
             if (!(poolMinSize <= poolMaxSize)) {
@@ -366,6 +439,7 @@ public record Config(
                     this.fnNotification,
                     this.fnProtocolVersion,
                     this.fnNotice,
+                    this.notificationDispatcher,
                     this.sslContext,
                     this.sslValidation,
                     this.cancelTimeoutMs,
@@ -382,7 +456,13 @@ public record Config(
                     this.fnKeyTransform,
                     this.poolHealthCheckOn,
                     this.poolHealthCheckQuery,
-                    this.poolHealthCheckTimeoutMS
+                    this.poolHealthCheckTimeoutMS,
+                    this.primitiveArrays,
+                    this.vectorMode,
+                    this.rawJSON,
+                    this.preloadTypes,
+                    this.typeCatalogFile,
+                    this.moneyScale
             );
         }
     }
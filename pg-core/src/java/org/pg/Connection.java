@@ -7,6 +7,7 @@ import org.pg.clojure.CljAPI;
 import org.pg.clojure.KW;
 import org.pg.clojure.RowMap;
 import org.pg.codec.CodecParams;
+import org.pg.codec.TypeRegistry;
 import org.pg.enums.*;
 import org.pg.error.PGError;
 import org.pg.error.PGErrorIO;
@@ -24,7 +25,7 @@ import java.net.UnixDomainSocketAddress;
 import java.security.MessageDigest;
 import java.io.*;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
@@ -70,6 +71,10 @@ public final class Connection implements AutoCloseable {
     private Connection(final Config config) {
         final CodecParams codecParams = CodecParams.create();
         codecParams.objectMapper(config.objectMapper());
+        codecParams.primitiveArrays(config.primitiveArrays());
+        codecParams.vectorMode(config.vectorMode());
+        codecParams.rawJSON(config.rawJSON());
+        codecParams.moneyScale(config.moneyScale());
         this.config = config;
         this.params = new HashMap<>();
         this.codecParams = codecParams;
@@ -98,7 +103,24 @@ public final class Connection implements AutoCloseable {
     }
 
     public static Connection connect(final Config config, final boolean sendStartup) {
+        return connect(config, sendStartup, null);
+    }
+
+    /*
+    Connect using a type registry shared with other connections,
+    e.g. of the same pool.
+     */
+    public static Connection connect(final Config config, final TypeRegistry typeRegistry) {
+        return connect(config, true, typeRegistry);
+    }
+
+    private static Connection connect(final Config config,
+                                      final boolean sendStartup,
+                                      final TypeRegistry typeRegistry) {
         final Connection conn = new Connection(config);
+        if (typeRegistry != null) {
+            conn.codecParams.typeRegistry(typeRegistry);
+        }
         final ConnType connType = config.getConnType();
         switch (connType) {
             case UNIX_SOCKET -> conn.connectUnixSocket();
@@ -106,6 +128,7 @@ public final class Connection implements AutoCloseable {
         }
         if (sendStartup) {
             conn.authenticate();
+            conn.loadTypes();
         }
         return conn;
     }
@@ -196,31 +219,102 @@ public final class Connection implements AutoCloseable {
     instance.
      */
     private void setTypes(final List<PGType> types1) {
-        // if a type is an array, we collect its element OID
-        // into a common set.
-        final Set<Integer> oidsElem = new HashSet<>();
-        if (types1 != null) {
-            for (PGType type: types1) {
+        List<PGType> types = types1;
+        final Set<Integer> oidsDeps = new HashSet<>();
+        while (types != null) {
+            // a type may depend on another one: an array on its
+            // element, a range on its subtype, a multirange on its
+            // range (which in turn has a subtype). Collect the unknown
+            // ones and fetch them again until there is nothing left.
+            oidsDeps.clear();
+            for (PGType type: types) {
+                codecParams.setPgType(type);
+            }
+            for (PGType type: types) {
                 if (type.isArray()) {
-                    oidsElem.add(type.typelem());
+                    oidsDeps.add(type.typelem());
+                } else if (type.isRange() || type.isMultirange()) {
+                    oidsDeps.add(type.subtype());
                 }
             }
+            oidsDeps.removeIf(codecParams::isKnownOid);
+            types = readTypesOids(oidsDeps);
         }
-        // if element OIDs aren't empty, fetch types again
-        final List<PGType> types2 = readTypesOids(oidsElem);
-        // now set both chunks of types
-        if (types1 != null) {
-            for (PGType type: types1) {
-                codecParams.setPgType(type);
-            }
+    }
+
+    /*
+    Connect and authenticate without loading types, e.g. to check
+    the type catalog in the background.
+     */
+    static Connection connectNoTypes(final Config config) {
+        final Connection conn = connect(config, false);
+        conn.authenticate();
+        return conn;
+    }
+
+    /*
+    Read all user-defined types in one query. Array types come
+    along with their elements, so there is no need for the second
+    step like in setTypes.
+     */
+    List<PGType> readUserTypes() {
+        final String query = Const.SQL_TYPE_COMMON.replace(
+                Const.SQL_WHERE_TAG,
+                Const.SQL_TYPE_PRELOAD_WHERE
+        );
+        return readTypesProcess(query);
+    }
+
+    String readUserTypesChecksum() {
+        @SuppressWarnings("unchecked")
+        final List<RowMap> result = (List<RowMap>) query(Const.SQL_TYPE_CHECKSUM);
+        return (String) result.get(0).nth(0);
+    }
+
+    private void installTypes(final List<PGType> types) {
+        for (PGType type: types) {
+            codecParams.setPgType(type);
         }
-        if (types2 != null) {
-            for (PGType type: types2) {
-                codecParams.setPgType(type);
-            }
+        codecParams.typeRegistry().markPreloaded();
+    }
+
+    /*
+    Install user types at once if the config says so: either from
+    a catalog file or with a query. Skip it when the registry
+    (shared by a pool) has got them already.
+     */
+    private void loadTypes() {
+        if (codecParams.typeRegistry().isPreloaded()) {
+            return;
+        }
+        if (config.typeCatalogFile() != null) {
+            loadTypeCatalog(Path.of(config.typeCatalogFile()));
+        } else if (config.preloadTypes()) {
+            installTypes(readUserTypes());
+        }
+    }
+
+    private void loadTypeCatalog(final Path path) {
+        final String serverVersion = params.get("server_version");
+        final String server = config.serverIdentity();
+        final TypeCatalog.Snapshot snapshot = TypeCatalog.load(path, serverVersion, server);
+        if (snapshot == null) {
+            final String checksum = readUserTypesChecksum();
+            final List<PGType> types = readUserTypes();
+            installTypes(types);
+            TypeCatalog.save(path, new TypeCatalog.Snapshot(serverVersion, server, checksum, types));
+        } else {
+            installTypes(snapshot.types());
+            final TypeRegistry registry = codecParams.typeRegistry();
+            config.executor().execute(() -> TypeCatalog.verify(config, registry, path, snapshot));
         }
     }
 
+    @SuppressWarnings("unused")
+    public TypeRegistry getTypeRegistry() {
+        return codecParams.typeRegistry();
+    }
+
     /*
     Read types from Postgres by OIDs and install them.
      */
@@ -288,8 +382,13 @@ public final class Connection implements AutoCloseable {
     throws an exception.
      */
     public int resolveType(final Object typeHint) {
+        final String fullName = SQLTool.fullTypeName(typeHint);
+        // the registry might be shared, so check it without locking
+        final Integer known = codecParams.getOidByType(fullName);
+        if (known != null) {
+            return known;
+        }
         try (final TryLock ignored = lock.get()) {
-            final String fullName = SQLTool.fullTypeName(typeHint);
             Integer oid = codecParams.getOidByType(fullName);
             if (oid == null) {
                 final String[] parts = SQLTool.splitType(typeHint);
@@ -505,12 +604,12 @@ public final class Connection implements AutoCloseable {
         }
     }
 
-    private void sendBytesCopy(final byte[] bytes) {
-        final ByteBuffer bb = ByteBuffer.allocate(5);
-        bb.put((byte)'d');
-        bb.putInt(4 + bytes.length);
-        sendBytes(bb.array(), "COPY");
-        sendBytes(bytes, "COPY");
+    // Send the accumulated CopyData message and reuse the frame.
+    private void sendCopyFrame(final CopyWriter writer) {
+        if (!writer.isEmpty()) {
+            sendBytes(writer.frame(), writer.frameLength());
+            writer.reset();
+        }
     }
 
     private void sendMessage (final IClientMessage msg) {
@@ -556,10 +655,6 @@ public final class Connection implements AutoCloseable {
         sendMessage(msg);
     }
 
-    private void sendCopyData(final byte[] buf) {
-        sendMessage(new CopyData(ByteBuffer.wrap(buf)));
-    }
-
     private void sendCopyDone () {
         sendMessage(CopyDone.INSTANCE);
     }
@@ -604,6 +699,14 @@ public final class Connection implements AutoCloseable {
     }
 
     private IServerMessage readMessage (final boolean skipMode) {
+        return readMessage(skipMode, null);
+    }
+
+    /*
+    When a COPY OUT target is passed, the payload of CopyData
+    gets moved into the target right from the stream.
+     */
+    private IServerMessage readMessage (final boolean skipMode, final CopyTarget copyTarget) {
 
         try {
             readBuf(bufHeader);
@@ -630,6 +733,15 @@ public final class Connection implements AutoCloseable {
             }
         }
 
+        if (tag == 'd' && copyTarget != null) {
+            try {
+                copyTarget.transfer(inStream, bodySize);
+            } catch (IOException e) {
+                onIOException(e, "copyTarget");
+            }
+            return SkippedMessage.INSTANCE;
+        }
+
         final byte[] bufBody = new byte[bodySize];
         final ByteBuffer bbBody = ByteBuffer.wrap(bufBody);
         try {
@@ -670,11 +782,6 @@ public final class Connection implements AutoCloseable {
         sendMessage(msg);
     }
 
-    private void sendDescribePortal (final String portal) {
-        final Describe msg = new Describe(SourceType.PORTAL, portal);
-        sendMessage(msg);
-    }
-
     private void sendExecute (final String portal, final long maxRows) {
         final Execute msg = new Execute(portal, maxRows);
         sendMessage(msg);
@@ -685,7 +792,8 @@ public final class Connection implements AutoCloseable {
     }
 
     public Object query(final String sql, final ExecuteParams executeParams) {
-        try (final TryLock ignored = lock.get()) {
+        try (final TryLock ignored = lock.get();
+             final CancelTimer ignoredTimer = CancelTimer.maybeStart(this, executeParams.timeoutMs())) {
             sendQuery(sql);
             final Result result = interact(executeParams, sql);
             final Set<Integer> oidsUnknown = unsupportedOids(result.allOids());
@@ -768,6 +876,21 @@ public final class Connection implements AutoCloseable {
         return new PreparedStatement(parse, parameterDescription, rowDescription);
     }
 
+    private Format getColumnFormat (final ExecuteParams executeParams) {
+        return (executeParams.binaryDecode() || config.binaryDecode()) ? Format.BIN : Format.TXT;
+    }
+
+    /*
+    True when a prepared statement cannot be executed any longer
+    because its result columns have changed, e.g. after ALTER TABLE
+    for a "select * from ..." query. The message text is localized,
+    so check the code and the server function instead.
+     */
+    private static boolean isResultTypeChanged (final PGErrorResponse e) {
+        return Objects.equals(e.getCode(), ErrCode.FEATURE_NOT_SUPPORTED)
+                && Objects.equals(e.getField("function"), "RevalidateCachedQuery");
+    }
+
     private void sendBind (final String portal,
                            final PreparedStatement stmt,
                            final ExecuteParams executeParams
@@ -784,7 +907,7 @@ public final class Connection implements AutoCloseable {
         }
 
         final Format paramsFormat = (executeParams.binaryEncode() || config.binaryEncode()) ? Format.BIN : Format.TXT;
-        final Format columnFormat = (executeParams.binaryDecode() || config.binaryDecode()) ? Format.BIN : Format.TXT;
+        final Format columnFormat = getColumnFormat(executeParams);
 
         final byte[][] bytes = new byte[size][];
         String statement = stmt.parse().statement();
@@ -849,16 +972,16 @@ public final class Connection implements AutoCloseable {
             final PreparedStatement stmt,
             final ExecuteParams executeParams
     ) {
-        final String sql = stmt.parse().query();
-        try (final TryLock ignored = lock.get()) {
+        try (final TryLock ignored = lock.get();
+             final CancelTimer ignoredTimer = CancelTimer.maybeStart(this, executeParams.timeoutMs())) {
             final String portal = generatePortal();
             sendBind(portal, stmt, executeParams);
-            sendDescribePortal(portal);
+            // the statement knows its columns, no need to Describe the portal
             sendExecute(portal, executeParams.maxRows());
             sendClosePortal(portal);
             sendFlush();
             sendSync();
-            return interact(executeParams, sql).getResult();
+            return interact(executeParams, stmt).getResult();
         }
     }
 
@@ -896,7 +1019,8 @@ public final class Connection implements AutoCloseable {
         final String cacheKey = psCacheOn
                 ? sql + " | oids: "  + executeParams.oids().toString()
                 : null;
-        try (final TryLock ignored = lock.get()) {
+        try (final TryLock ignored = lock.get();
+             final CancelTimer ignoredTimer = CancelTimer.maybeStart(this, executeParams.timeoutMs())) {
             PreparedStatement stmt;
             if (psCacheOn) {
                 // when there is a cache, try to get a prep. statement out from it
@@ -917,7 +1041,6 @@ public final class Connection implements AutoCloseable {
             }
             final String portal = generatePortal();
             sendBind(portal, stmt, executeParams);
-            sendDescribePortal(portal);
             sendExecute(portal, executeParams.maxRows());
             sendClosePortal(portal);
             // with no cache, close the statement
@@ -928,12 +1051,27 @@ public final class Connection implements AutoCloseable {
             sendSync();
 
             if (!psCacheOn) {
-                return interact(executeParams, sql).getResult();
+                return interact(executeParams, stmt).getResult();
             } else {
                 try {
-                    return interact(executeParams, sql).getResult();
+                    return interact(executeParams, stmt).getResult();
                 } catch (final PGErrorResponse e) {
-                    if (Objects.equals(e.getCode(), ErrCode.PREPARED_STATEMENT_NOT_FOUND)) {
+                    if (isResultTypeChanged(e)) {
+                        if (Debug.isON) {
+                            Debug.debug("Prepared statement result has changed: %s, error: %s",
+                                    stmt,
+                                    e.getMessage()
+                            );
+                        }
+                        PSCache.remove(cacheKey);
+                        closeStatement(stmt);
+                        // in a transaction, the error has aborted it already
+                        if (txStatus == TXStatus.IDLE) {
+                            return execute(sql, executeParams);
+                        } else {
+                            throw e;
+                        }
+                    } else if (Objects.equals(e.getCode(), ErrCode.PREPARED_STATEMENT_NOT_FOUND)) {
                         if (Debug.isON) {
                             Debug.debug("Prepared statement is missing: %s, error: %s",
                                     stmt,
@@ -983,21 +1121,52 @@ public final class Connection implements AutoCloseable {
     }
 
     private Result interact (final ExecuteParams executeParams, final String sql) {
-        return interact(executeParams, false, sql);
+        return interact(executeParams, false, sql, null, null);
+    }
+
+    /*
+    Interact after executing a prepared statement. As Describe
+    is not sent for the portal, pass the statement's row
+    description to the result in advance.
+     */
+    private Result interact (final ExecuteParams executeParams, final PreparedStatement stmt) {
+        return interact(
+                executeParams,
+                false,
+                stmt.parse().query(),
+                stmt.keyCache(),
+                stmt.rowDescription(getColumnFormat(executeParams))
+        );
     }
 
     private Result interact (final ExecuteParams executeParams, final boolean isAuth, final String sql) {
+        return interact(executeParams, isAuth, sql, null, null);
+    }
+
+    private Result interact (final ExecuteParams executeParams,
+                             final boolean isAuth,
+                             final String sql,
+                             final KeyCache keyCache,
+                             final RowDescription rowDescription) {
         // flushSocket();
-        final Result res = new Result(config, executeParams, sql);
-        while (true) {
-            final IServerMessage msg = readMessage(res.hasException());
-            if (Debug.isON) {
-                Debug.debug(" -> %s", msg);
-            }
-            handleMessage(msg, res);
-            if (isEnough(msg, isAuth)) {
-                break;
+        final Result res = new Result(config, executeParams, sql, keyCache);
+        if (rowDescription != null) {
+            res.handleRowDescription(rowDescription);
+        }
+        // close the target even on I/O errors as it might own a file
+        try {
+            while (true) {
+                final IServerMessage msg = readMessage(res.hasException(), res.getCopyTarget());
+                if (Debug.isON) {
+                    Debug.debug(" -> %s", msg);
+                }
+                handleMessage(msg, res);
+                if (isEnough(msg, isAuth)) {
+                    break;
+                }
             }
+        } finally {
+            res.closeCopyTarget();
         }
         res.maybeThrowError();
         return res;
@@ -1013,6 +1182,34 @@ public final class Connection implements AutoCloseable {
 
     private static void noop () {}
 
+    /*
+    Access for Listener which owns the connection and reads
+    it in a separate thread, so the lock is not involved.
+     */
+    IServerMessage readMessage () {
+        return readMessage(false);
+    }
+
+    void handleMessageUnlocked (final IServerMessage msg, final Result res) {
+        handleMessage(msg, res);
+    }
+
+    void sendQueryUnlocked (final String sql) {
+        sendQuery(sql);
+    }
+
+    /*
+    The listener waits for notifications as long as it takes,
+    so its reads must not time out.
+     */
+    void setReadTimeout (final int ms) {
+        try {
+            ioChannel.setReadTimeout(ms);
+        } catch (IOException e) {
+            throw new PGErrorIO(e, "cannot set read timeout: %s", ms);
+        }
+    }
+
     private void handleMessage (final IServerMessage msg, final Result res) {
 
         if (msg instanceof final DataRow x) {
@@ -1052,7 +1249,7 @@ public final class Connection implements AutoCloseable {
         } else if (msg instanceof ParseComplete) {
             noop();
         } else if (msg instanceof CopyOutResponse) {
-            noop();
+            handleCopyOutResponse(res);
         } else if (msg instanceof final CopyData x) {
             handleCopyData(x, res);
         } else if (msg instanceof CopyInResponse) {
@@ -1219,52 +1416,64 @@ public final class Connection implements AutoCloseable {
         }
     }
 
-    private void handleCopyInResponseData (final Result res, final Iterator<List<Object>> rows) {
-        final ExecuteParams executeParams = res.executeParams;
-        final CopyFormat format = executeParams.copyFormat();
-        Throwable e = null;
-
-        final int[] oids = intOids(executeParams.oids());
+    private CopyWriter getCopyWriter (final ExecuteParams executeParams, final int[] oids) {
+        final int bufSize = executeParams.copyBufSize();
+        return switch (executeParams.copyFormat()) {
+            case CSV -> new CopyCSVWriter(codecParams, oids, bufSize, executeParams);
+            case BIN -> new CopyBinWriter(codecParams, oids, bufSize);
+            case TAB -> new CopyTabWriter(codecParams, oids, bufSize);
+        };
+    }
 
-        switch (format) {
+    // Encode rows and send frames in the same thread.
+    private Throwable copyRows (final CopyWriter writer, final Iterator<List<Object>> rows) {
+        while (rows.hasNext()) {
+            try {
+                writer.writeRow(rows.next());
+            }
+            catch (final Throwable caught) {
+                return caught;
+            }
+            if (writer.isFull()) {
+                sendCopyFrame(writer);
+            }
+        }
+        writer.writeEnd();
+        sendCopyFrame(writer);
+        return null;
+    }
 
-            case CSV:
-                String line;
-                while (rows.hasNext()) {
-                    try {
-                        line = Copy.encodeRowCSV(rows.next(), executeParams, codecParams, oids);
-                    }
-                    catch (final Throwable caught) {
-                        e = caught;
-                        break;
-                    }
-                    final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
-                    sendBytesCopy(bytes);
-                }
-                break;
+    // Rows get encoded in another thread while this one
+    // sends ready frames to the server.
+    private Throwable copyRowsAsync (final CopyWriter writer, final Iterator<List<Object>> rows) {
+        final CopyProducer producer = new CopyProducer(writer, rows, Const.COPY_IN_QUEUE_SIZE);
+        config.executor().execute(producer);
+        CopyProducer.Frame frame;
+        while (true) {
+            frame = producer.take();
+            if (frame.error() != null) {
+                return frame.error();
+            }
+            if (frame.isLast()) {
+                return null;
+            }
+            try {
+                sendBytes(frame.buf(), frame.len());
+            } catch (final Throwable e) {
+                producer.cancel();
+                throw e;
+            }
+            producer.release(frame.buf());
+        }
+    }
 
-            case BIN:
-                sendCopyData(Copy.COPY_BIN_HEADER);
-                ByteBuffer buf;
-                while (rows.hasNext()) {
-                    try {
-                        buf = Copy.encodeRowBin(rows.next(), executeParams, codecParams, oids);
-                    }
-                    catch (final Throwable caught) {
-                        e = caught;
-                        break;
-                    }
-                    sendBytesCopy(buf.array());
-                }
-                if (e == null) {
-                    sendBytes(Copy.MSG_COPY_BIN_TERM, "COPY IN BIN");
-                }
-                break;
+    private void handleCopyInResponseData (final Result res, final Iterator<List<Object>> rows) {
+        final ExecuteParams executeParams = res.executeParams;
+        final CopyWriter writer = getCopyWriter(executeParams, intOids(executeParams.oids()));
 
-            case TAB:
-                e = new PGError("TAB COPY format is not implemented");
-                break;
-        }
+        final Throwable e = executeParams.copyInThread()
+                ? copyRowsAsync(writer, rows)
+                : copyRows(writer, rows);
 
         if (e == null) {
             sendCopyDone();
@@ -1325,10 +1534,14 @@ public final class Connection implements AutoCloseable {
         final boolean isSelf = msg.pid() == pid;
         final Object obj = msg.toClojure().assoc(KW.self_QMARK, isSelf);
         final IFn handler = config.fnNotification();
+        final Dispatcher dispatcher = config.notificationDispatcher();
         if (handler == null) {
             notifications.add(obj);
-        } else {
+        } else if (dispatcher == null) {
             handlerCall(handler, obj);
+        } else {
+            // keep the order of notifications per channel
+            dispatcher.submit(msg.channel(), handler, obj);
         }
     }
 
@@ -1396,10 +1609,55 @@ public final class Connection implements AutoCloseable {
     }
 
     private void handleCopyDataUnsafe (final CopyData msg, final Result res) throws IOException {
-        @SuppressWarnings("resource")
-        final OutputStream outputStream = res.executeParams.outputStream();
         final byte[] bytes = msg.buf().array();
-        outputStream.write(bytes);
+        if (res.executeParams.isCopyOutRows()) {
+            // skip the rest of data once decoding has failed
+            if (!res.hasException()) {
+                res.getCopyReader().read(bytes, 0, bytes.length, res);
+            }
+        } else {
+            @SuppressWarnings("resource")
+            final OutputStream outputStream = res.executeParams.outputStream();
+            outputStream.write(bytes);
+        }
+    }
+
+    private static CopyTarget getCopyTarget (final ExecuteParams executeParams) {
+        final int bufSize = executeParams.copyBufSize();
+        if (executeParams.outputChannel() != null) {
+            return new CopyTarget.Channel(executeParams.outputChannel(), bufSize, false);
+        } else if (executeParams.mmapSize() > 0) {
+            return new CopyTarget.Mmap(executeParams.outputFile(), executeParams.mmapSize(), bufSize);
+        } else {
+            return CopyTarget.Channel.ofPath(executeParams.outputFile(), bufSize);
+        }
+    }
+
+    private void handleCopyOutResponse (final Result res) {
+        final ExecuteParams executeParams = res.executeParams;
+        if (executeParams.outputChannel() != null || executeParams.outputFile() != null) {
+            try {
+                res.handleCopyOutTarget(getCopyTarget(executeParams));
+            } catch (final Throwable e) {
+                res.setException(e);
+            }
+            return;
+        }
+        if (!executeParams.isCopyOutRows()) {
+            return;
+        }
+        final int[] oids = intOids(executeParams.oids());
+        final CopyReader reader = switch (executeParams.copyFormat()) {
+            case TAB -> new CopyTabReader(codecParams, oids);
+            case BIN -> new CopyBinReader(codecParams, oids);
+            case CSV -> null;
+        };
+        if (reader == null) {
+            res.setException(new PGError(
+                    "COPY OUT rows: %s format is not supported", executeParams.copyFormat()
+            ));
+        }
+        res.handleCopyOutRows(reader);
     }
 
     @SuppressWarnings("unused")
@@ -1409,7 +1667,8 @@ public final class Connection implements AutoCloseable {
 
     @SuppressWarnings("unused")
     public Object copy (final String sql, final ExecuteParams executeParams) {
-        try (final TryLock ignored = lock.get()) {
+        try (final TryLock ignored = lock.get();
+             final CancelTimer ignoredTimer = CancelTimer.maybeStart(this, executeParams.timeoutMs())) {
             setTypesByOids(unsupportedOids(intOids(executeParams.oids())));
             sendQuery(sql);
             final Result res = interact(executeParams, sql);
@@ -1448,7 +1707,8 @@ public final class Connection implements AutoCloseable {
                 msg,
                 rowDescription,
                 keys,
-                codecParams
+                codecParams,
+                res.getCurrentInterners()
         );
         res.addClojureRow(rowMap);
     }
@@ -2,6 +2,7 @@ package org.pg;
 
 import clojure.lang.Agent;
 import org.pg.enums.SSLValidation;
+import org.pg.enums.VectorMode;
 
 import java.nio.charset.Charset;
 import java.util.concurrent.Executor;
@@ -15,10 +16,20 @@ public final class Const {
     public static final int SSL_CODE = 80877103;
     public static final SSLValidation SSL_VALIDATION = SSLValidation.NONE;
     public static final int COPY_BUFFER_SIZE = 0xFFFF;
+    public static final int COPY_IN_QUEUE_SIZE = 4;
+    public static final int DISPATCHER_WORKERS = 4;
+    public static final int DISPATCHER_QUEUE_SIZE = 1024;
     public static final String COPY_FAIL_EXCEPTION_MSG = "Terminated due to an exception on the client side";
     public static final int PG_PORT = 5432;
     public static final boolean BIN_ENCODE = false;
     public static final boolean BIN_DECODE = false;
+    public static final boolean PRIMITIVE_ARRAYS = false;
+    public static final VectorMode VECTOR_MODE = VectorMode.VECTOR;
+    public static final boolean RAW_JSON = false;
+    public static final boolean PRELOAD_TYPES = false;
+    public static final int INTERN_LIMIT = 0;
+    public static final int MONEY_SCALE = 2;
+    public static final int INTERN_LIMIT_MAX = 1 << 24;
     public static final int SO_TIMEOUT = 15 * 1000;
     public static final int SO_RECV_BUF_SIZE = 0xFFFF;
     public static final int SO_SEND_BUF_SIZE = 0xFFFF;
@@ -63,6 +74,31 @@ public final class Const {
     public static String TYPE_SIG_LTREE = "ltree/ltree_in";
     public static String TYPE_SEG_CITEXT = "citext/citextin";
     public static String SQL_WHERE_TAG = "{{ WHERE }}";
+    // user-defined and extension types (OIDs from FirstNormalObjectId)
+    // except composite types of tables and pseudo-types
+    public static String SQL_TYPE_PRELOAD_WHERE =
+            "pg_type.oid >= 16384 and pg_type.typtype in ('b', 'd', 'e', 'r', 'm')";
+    public static String SQL_TYPE_CHECKSUM = """
+        select
+            md5(coalesce(string_agg(concat_ws('/',
+                pg_type.oid,
+                pg_namespace.nspname,
+                pg_type.typname,
+                pg_type.typtype,
+                pg_type.typinput::text,
+                pg_type.typreceive::text,
+                pg_type.typarray,
+                pg_type.typelem
+            ), ',' order by pg_type.oid), '')) as checksum
+        from
+            pg_type
+        join
+            pg_namespace on pg_type.typnamespace = pg_namespace.oid
+        where
+          \s""" + SQL_TYPE_PRELOAD_WHERE + """
+        """;
+    // subtype is the element of a range or the range of a multirange;
+    // rngmultitypid is read through to_jsonb as it appeared in PG 14
     public static String SQL_TYPE_COMMON = """
         select
             pg_type.oid,
@@ -75,7 +111,14 @@ public final class Const {
             pg_type.typarray,
             pg_type.typdelim,
             pg_type.typelem,
-            pg_namespace.nspname
+            pg_namespace.nspname,
+            coalesce(case pg_type.typtype
+              when 'r' then
+                (select rngsubtype from pg_range where rngtypid = pg_type.oid)
+              when 'm' then
+                (select rngtypid from pg_range
+                 where (to_jsonb(pg_range) ->> 'rngmultitypid')::oid = pg_type.oid)
+            end, 0::oid) as subtype
         from
             pg_type
         join
@@ -0,0 +1,121 @@
+package org.pg;
+
+import org.pg.codec.CodecParams;
+import org.pg.error.PGError;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/*
+Binary COPY OUT reader. Skips the header, then decodes tuples
+with binary processors right from the message bytes. A tuple
+is decoded only when all of its fields are available.
+ */
+public final class CopyBinReader extends CopyReader {
+
+    private static final int HEADER_SIZE = Copy.COPY_BIN_HEADER.length;
+    private static final int SIGNATURE_SIZE = 11;
+
+    private boolean isHeaderRead = false;
+    private boolean isDone = false;
+    private Object[] values = new Object[8];
+
+    public CopyBinReader(final CodecParams codecParams, final int[] oids) {
+        super(codecParams, oids);
+    }
+
+    private static short getShort(final byte[] buf, final int pos) {
+        return (short) (((buf[pos] & 0xFF) << 8) | (buf[pos + 1] & 0xFF));
+    }
+
+    private static int getInt(final byte[] buf, final int pos) {
+        return ((buf[pos] & 0xFF) << 24)
+                | ((buf[pos + 1] & 0xFF) << 16)
+                | ((buf[pos + 2] & 0xFF) << 8)
+                | (buf[pos + 3] & 0xFF);
+    }
+
+    /*
+    Return the position after the header, or -1 if the header
+    is incomplete.
+     */
+    private static int readHeader(final byte[] buf, final int offset, final int end) {
+        if (end - offset < HEADER_SIZE) {
+            return -1;
+        }
+        if (!Arrays.equals(
+                buf, offset, offset + SIGNATURE_SIZE,
+                Copy.COPY_BIN_HEADER, 0, SIGNATURE_SIZE)) {
+            throw new PGError("wrong binary COPY signature, make sure the SQL expression uses the BINARY format");
+        }
+        final int extLen = getInt(buf, offset + SIGNATURE_SIZE + 4);
+        if (end - offset < HEADER_SIZE + extLen) {
+            return -1;
+        }
+        return offset + HEADER_SIZE + extLen;
+    }
+
+    /*
+    Return the position after a tuple with the given number
+    of fields, or -1 if the tuple is incomplete.
+     */
+    private static int tupleEnd(final byte[] buf, final int offset, final int end, final int count) {
+        int pos = offset;
+        int len;
+        for (int i = 0; i < count; i++) {
+            if (end - pos < 4) {
+                return -1;
+            }
+            len = getInt(buf, pos);
+            pos += 4;
+            if (len > 0) {
+                if (end - pos < len) {
+                    return -1;
+                }
+                pos += len;
+            }
+        }
+        return pos;
+    }
+
+    @Override
+    protected int readRows(final byte[] buf, final int offset, final int end, final Result res) {
+        int pos = offset;
+        if (!isHeaderRead) {
+            pos = readHeader(buf, offset, end);
+            if (pos == -1) {
+                return offset;
+            }
+            isHeaderRead = true;
+        }
+        short count;
+        int len;
+        while (!isDone && end - pos >= 2) {
+            count = getShort(buf, pos);
+            if (count == -1) {
+                isDone = true;
+                return end;
+            }
+            if (tupleEnd(buf, pos + 2, end, count) == -1) {
+                return pos;
+            }
+            pos += 2;
+            if (count > values.length) {
+                values = new Object[Math.max(count, values.length * 2)];
+            }
+            for (int i = 0; i < count; i++) {
+                len = getInt(buf, pos);
+                pos += 4;
+                if (len == -1) {
+                    values[i] = null;
+                } else {
+                    values[i] = getProcessor(i).decodeBin(ByteBuffer.wrap(buf, pos, len), codecParams);
+                    pos += len;
+                }
+            }
+            res.addCopyRow(toRow(values, count));
+        }
+        return isDone ? end : pos;
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.pg;
+
+import org.pg.codec.CodecParams;
+import org.pg.processor.IProcessor;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/*
+Binary COPY IN writer. The header goes into the first frame,
+the trailer into the last one. Each row is the number of fields
+followed by length-prefixed values, -1 stands for NULL.
+ */
+public final class CopyBinWriter extends CopyWriter {
+
+    public CopyBinWriter(final CodecParams codecParams, final int[] oids, final int threshold) {
+        super(codecParams, oids, threshold);
+        put(Copy.COPY_BIN_HEADER);
+    }
+
+    @Override
+    public void writeRow(final List<Object> row) {
+        putShort((short) row.size());
+        int i = 0;
+        for (final Object item: row) {
+            if (item == null) {
+                putInt(-1);
+            } else {
+                final IProcessor processor = getProcessor(i, item);
+                final ByteBuffer bb = processor.encodeBin(item, codecParams);
+                putInt(bb.limit());
+                put(bb);
+            }
+            i++;
+        }
+    }
+
+    @Override
+    public void writeEnd() {
+        putShort((short) -1);
+    }
+
+}
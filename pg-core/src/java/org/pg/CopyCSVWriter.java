@@ -0,0 +1,80 @@
+package org.pg;
+
+import org.pg.codec.CodecParams;
+import org.pg.processor.IProcessor;
+
+import java.util.List;
+
+/*
+CSV COPY IN writer. A cell gets quoted only when it contains
+a quote, a separator, a line break, or when it matches the NULL string
+(otherwise Postgres would take it for NULL).
+ */
+public final class CopyCSVWriter extends CopyWriter {
+
+    private final String quote;
+    private final String quoteEscaped;
+    private final String cellSep;
+    private final String nullString;
+    private final byte[] bytesNull;
+    private final byte[] bytesCellSep;
+    private final byte[] bytesLineSep;
+    private final byte[] bytesQuote;
+
+    public CopyCSVWriter(
+            final CodecParams codecParams,
+            final int[] oids,
+            final int threshold,
+            final ExecuteParams executeParams
+    ) {
+        super(codecParams, oids, threshold);
+        this.quote = executeParams.CSVQuote();
+        this.quoteEscaped = quote + quote;
+        this.cellSep = executeParams.CSVCellSep();
+        this.nullString = executeParams.CSVNull();
+        this.bytesNull = nullString.getBytes(codecParams.clientCharset());
+        this.bytesCellSep = cellSep.getBytes(codecParams.clientCharset());
+        this.bytesLineSep = executeParams.CSVLineSep().getBytes(codecParams.clientCharset());
+        this.bytesQuote = quote.getBytes(codecParams.clientCharset());
+    }
+
+    private boolean isQuoteNeeded(final String s) {
+        if (s.equals(nullString) || s.contains(cellSep) || s.contains(quote)) {
+            return true;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        // the end-of-data marker
+        return s.startsWith("\\.");
+    }
+
+    @Override
+    public void writeRow(final List<Object> row) {
+        int i = 0;
+        for (final Object item: row) {
+            if (i > 0) {
+                put(bytesCellSep);
+            }
+            if (item == null) {
+                put(bytesNull);
+            } else {
+                final IProcessor processor = getProcessor(i, item);
+                final String encoded = processor.encodeTxt(item, codecParams);
+                if (isQuoteNeeded(encoded)) {
+                    put(bytesQuote);
+                    putString(encoded.replace(quote, quoteEscaped));
+                    put(bytesQuote);
+                } else {
+                    putString(encoded);
+                }
+            }
+            i++;
+        }
+        put(bytesLineSep);
+    }
+
+}
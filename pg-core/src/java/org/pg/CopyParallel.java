@@ -0,0 +1,408 @@
+package org.pg;
+
+import clojure.lang.AFn;
+import clojure.lang.IPersistentMap;
+import clojure.lang.IReduceInit;
+import clojure.lang.ITransientCollection;
+import clojure.lang.PersistentHashMap;
+import clojure.lang.PersistentVector;
+import org.pg.clojure.KW;
+import org.pg.enums.CopyFormat;
+import org.pg.error.PGError;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/*
+Parallel COPY IN across several pool connections. The source (an iterator
+or a reducible of rows, or a CSV/TEXT input stream) gets split into chunks in the calling
+thread. Chunks are passed through a bounded queue to workers, each having
+its own connection and running COPY per chunk.
+
+When atomic, each worker opens a transaction; once all the chunks have
+been sent, the transactions get committed only if every chunk has
+succeeded, and rolled back otherwise. Note: it's not a two-phase commit,
+so a failure during the commit phase might leave some transactions
+committed. When not atomic, each chunk is committed on its own.
+
+Atomic mode and unique keys: if the same key lands in two chunks
+copied by different workers, the second worker waits for the first
+one's transaction, which is committed only when all the workers are
+done. This is a deadlock Postgres cannot see (the wait is partly on
+the client side), so the COPY hangs. Make sure keys don't repeat
+across the source, or set lock_timeout for the pool's connections.
+
+If the calling thread is interrupted, the workers are cancelled and
+joined first; their connections are then closed, not reused.
+
+The HEADER option is rejected: the server would skip the first line
+of every chunk rather than of the whole source.
+ */
+public final class CopyParallel {
+
+    private record Chunk(int index, List<List<Object>> rows, byte[] bytes) {
+        int size() {
+            return rows == null ? bytes.length : rows.size();
+        }
+    }
+
+    private record Outcome(Chunk chunk, long copied, Throwable error) {}
+
+    private static final Chunk STOP = new Chunk(-1, null, null);
+
+    // HEADER (but not HEADER false/off/0) after STDIN, both in the
+    // WITH (...) list and in the legacy "CSV HEADER" form
+    private static final Pattern HEADER = Pattern.compile(
+            "\\bstdin\\b.*\\bheader\\b(?!\\s+(false|off|0)\\b)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+
+    private final Pool pool;
+    private final String sql;
+    private final ExecuteParams executeParams;
+    private final int workerCount;
+    private final boolean isAtomic;
+
+    private final BlockingQueue<Chunk> queue;
+    private final Map<Integer, Outcome> outcomes = new ConcurrentHashMap<>();
+    private final AtomicBoolean isFailed = new AtomicBoolean(false);
+
+    public CopyParallel(final Pool pool,
+                        final String sql,
+                        final ExecuteParams executeParams,
+                        final int workerCount,
+                        final boolean isAtomic) {
+        if (workerCount < 1) {
+            throw new PGError("the number of workers must be positive: %s", workerCount);
+        }
+        // each chunk would lose its first row silently
+        if (HEADER.matcher(sql).find()) {
+            throw new PGError("parallel COPY doesn't support the HEADER option: %s", sql);
+        }
+        this.pool = pool;
+        this.sql = sql;
+        this.executeParams = executeParams;
+        this.workerCount = workerCount;
+        this.isAtomic = isAtomic;
+        this.queue = new ArrayBlockingQueue<>(workerCount * 2);
+    }
+
+    private static long getCopied(final Object result) {
+        if (result instanceof Map<?,?> m && m.get(KW.copied) instanceof Number n) {
+            return n.longValue();
+        }
+        return 0;
+    }
+
+    private void copyChunk(final Connection conn, final Chunk chunk) {
+        if (isAtomic && isFailed.get()) {
+            outcomes.put(chunk.index, new Outcome(chunk, 0, null));
+            return;
+        }
+        final ExecuteParams params = chunk.rows == null
+                ? executeParams.withInputStream(new ByteArrayInputStream(chunk.bytes))
+                : executeParams.withCopyInRows(chunk.rows);
+        try {
+            final long copied = getCopied(conn.copy(sql, params));
+            outcomes.put(chunk.index, new Outcome(chunk, copied, null));
+        } catch (final Throwable e) {
+            isFailed.set(true);
+            outcomes.put(chunk.index, new Outcome(chunk, 0, e));
+        }
+    }
+
+    private void work(final Connection conn) {
+        Chunk chunk;
+        while (true) {
+            try {
+                chunk = queue.take();
+            } catch (InterruptedException e) {
+                isFailed.set(true);
+                return;
+            }
+            if (chunk == STOP) {
+                return;
+            }
+            copyChunk(conn, chunk);
+        }
+    }
+
+    private void put(final Chunk chunk) {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException e) {
+            throw new PGError(e, "parallel COPY has been interrupted");
+        }
+    }
+
+    /*
+    Split an input stream into chunks of about chunkSize bytes
+    ending on a record boundary. In CSV, a line break inside
+    quotes doesn't end a record.
+     */
+    private void produceStream(final InputStream in, final int chunkSize) throws IOException {
+        final boolean isCSV = executeParams.copyFormat() == CopyFormat.CSV;
+        final byte quote = (byte) executeParams.CSVQuote().charAt(0);
+        byte[] buf = new byte[chunkSize + 0xFFFF];
+        int len = 0;
+        int scanned = 0;
+        int boundary = 0;
+        boolean inQuotes = false;
+        int index = 0;
+        int read;
+        while (true) {
+            if (len == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            read = in.read(buf, len, buf.length - len);
+            if (read == -1) {
+                break;
+            }
+            len += read;
+            for (; scanned < len; scanned++) {
+                final byte b = buf[scanned];
+                if (isCSV && b == quote) {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    boundary = scanned + 1;
+                }
+            }
+            if (boundary >= chunkSize) {
+                put(new Chunk(index++, null, Arrays.copyOf(buf, boundary)));
+                len -= boundary;
+                scanned -= boundary;
+                System.arraycopy(buf, boundary, buf, 0, len);
+                boundary = 0;
+            }
+        }
+        if (len > 0) {
+            put(new Chunk(index, null, Arrays.copyOf(buf, len)));
+        }
+    }
+
+    /*
+    Collect rows into chunks of chunkSize and put them into the queue.
+     */
+    private final class RowChunker {
+
+        private final int chunkSize;
+        private int index = 0;
+        private List<List<Object>> chunk;
+
+        private RowChunker(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        private void add(final List<Object> row) {
+            if (row == null) {
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                put(new Chunk(index++, chunk, null));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        private void finish() {
+            if (!chunk.isEmpty()) {
+                put(new Chunk(index, chunk, null));
+            }
+        }
+    }
+
+    private void produceRows(final Iterator<List<Object>> rows, final int chunkSize) {
+        final RowChunker chunker = new RowChunker(chunkSize);
+        while (rows.hasNext()) {
+            chunker.add(rows.next());
+        }
+        chunker.finish();
+    }
+
+    /*
+    A reducible source (e.g. an eduction or a custom IReduceInit)
+    has no iterator, so rows get chunked while reducing it.
+     */
+    @SuppressWarnings("unchecked")
+    private void produceReducible(final IReduceInit rows, final int chunkSize) {
+        final RowChunker chunker = new RowChunker(chunkSize);
+        rows.reduce(new AFn() {
+            @Override
+            public Object invoke(final Object acc, final Object row) {
+                chunker.add((List<Object>) row);
+                return acc;
+            }
+        }, null);
+        chunker.finish();
+    }
+
+    private interface Producer {
+        void produce() throws Exception;
+    }
+
+    private Object run(final Producer producer) {
+        final List<Connection> conns = new ArrayList<>(workerCount);
+        final List<Thread> threads = new ArrayList<>(workerCount);
+        Throwable sourceError = null;
+        boolean isCommitted = false;
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                conns.add(pool.borrowConnection());
+            }
+            if (isAtomic) {
+                for (final Connection conn: conns) {
+                    conn.begin();
+                }
+            }
+            for (final Connection conn: conns) {
+                final Thread thread = new Thread(() -> work(conn), "pg-copy-parallel");
+                thread.setDaemon(true);
+                thread.start();
+                threads.add(thread);
+            }
+            try {
+                producer.produce();
+            } catch (final Throwable e) {
+                isFailed.set(true);
+                sourceError = e;
+            }
+            for (int i = 0; i < threads.size(); i++) {
+                put(STOP);
+            }
+            for (final Thread thread: threads) {
+                thread.join();
+            }
+            if (isAtomic) {
+                if (isFailed.get()) {
+                    for (final Connection conn: conns) {
+                        conn.rollback();
+                    }
+                } else {
+                    for (final Connection conn: conns) {
+                        conn.commit();
+                    }
+                    isCommitted = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            isFailed.set(true);
+            throw new PGError(e, "parallel COPY has been interrupted");
+        } finally {
+            // never give back a connection a worker might still be using
+            final boolean isAborted = isAnyAlive(threads);
+            if (isAborted) {
+                abort(conns, threads);
+            }
+            for (final Connection conn: conns) {
+                pool.returnConnection(conn, isAborted);
+            }
+        }
+        if (sourceError != null) {
+            throw new PGError(sourceError,
+                    "parallel COPY: failed to read the source: %s", sourceError.getMessage());
+        }
+        return toResult(isCommitted);
+    }
+
+    private static boolean isAnyAlive(final List<Thread> threads) {
+        for (final Thread thread: threads) {
+            if (thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    Stop the workers when the caller has been interrupted: cancel
+    their COPY, wake them up, and wait until they exit. The caller's
+    interrupted flag is restored afterwards.
+     */
+    private void abort(final List<Connection> conns, final List<Thread> threads) {
+        isFailed.set(true);
+        for (final Connection conn: conns) {
+            try {
+                Connection.cancelRequest(conn);
+            } catch (final Throwable ignored) {
+                // the connection gets closed anyway
+            }
+        }
+        for (final Thread thread: threads) {
+            thread.interrupt();
+        }
+        boolean isInterrupted = false;
+        for (final Thread thread: threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object toResult(final boolean isCommitted) {
+        final Outcome[] sorted = outcomes.values().toArray(new Outcome[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.chunk.index, b.chunk.index));
+        ITransientCollection chunks = PersistentVector.EMPTY.asTransient();
+        long copied = 0;
+        boolean isOk = true;
+        for (final Outcome outcome: sorted) {
+            IPersistentMap node = PersistentHashMap.create(
+                    KW.chunk, outcome.chunk.index,
+                    outcome.chunk.rows == null ? KW.bytes : KW.rows, outcome.chunk.size(),
+                    KW.copied, outcome.copied
+            );
+            if (outcome.error != null) {
+                node = node.assoc(KW.error, outcome.error);
+                isOk = false;
+            }
+            copied += outcome.copied;
+            chunks = chunks.conj(node);
+        }
+        if (isAtomic && !isCommitted) {
+            copied = 0;
+        }
+        IPersistentMap result = PersistentHashMap.create(
+                KW.copied, copied,
+                KW.ok_QMARK, isOk,
+                KW.chunks, chunks.persistent()
+        );
+        if (isAtomic) {
+            result = result.assoc(KW.committed_QMARK, isCommitted);
+        }
+        return result;
+    }
+
+    public Object copyInRows(final Iterator<List<Object>> rows, final int chunkSize) {
+        return run(() -> produceRows(rows, Math.max(chunkSize, 1)));
+    }
+
+    public Object copyInReducible(final IReduceInit rows, final int chunkSize) {
+        return run(() -> produceReducible(rows, Math.max(chunkSize, 1)));
+    }
+
+    public Object copyInStream(final InputStream in, final int chunkSize) {
+        if (executeParams.copyFormat() == CopyFormat.BIN) {
+            throw new PGError("parallel COPY doesn't support binary input streams, use CSV or TEXT");
+        }
+        return run(() -> produceStream(in, Math.max(chunkSize, 1)));
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.pg;
+
+import org.pg.error.PGError;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+Encodes COPY IN rows into frames in a separate thread. Ready frames
+are passed to the connection thread through a bounded queue, so
+encoding and network I/O overlap but memory stays limited. Sent frames
+come back through another queue to be reused. An exception is passed
+as a special frame which the connection turns into CopyFail.
+ */
+public final class CopyProducer implements Runnable {
+
+    public record Frame(byte[] buf, int len, Throwable error) {
+        public boolean isLast() {
+            return buf == null && error == null;
+        }
+    }
+
+    private static final Frame LAST = new Frame(null, 0, null);
+
+    private final CopyWriter writer;
+    private final Iterator<List<Object>> rows;
+    private final BlockingQueue<Frame> ready;
+    private final BlockingQueue<byte[]> free;
+    private volatile boolean isCancelled = false;
+
+    public CopyProducer(final CopyWriter writer,
+                        final Iterator<List<Object>> rows,
+                        final int queueSize) {
+        this.writer = writer;
+        this.rows = rows;
+        this.ready = new ArrayBlockingQueue<>(queueSize);
+        this.free = new ArrayBlockingQueue<>(queueSize + 1);
+    }
+
+    // Return false if the consumer has gone.
+    private boolean put(final Frame frame) throws InterruptedException {
+        while (!ready.offer(frame, 100, TimeUnit.MILLISECONDS)) {
+            if (isCancelled) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean putFrame() throws InterruptedException {
+        final int len = writer.frameLength();
+        final byte[] buf = writer.detach(free.poll());
+        return put(new Frame(buf, len, null));
+    }
+
+    private void produce() throws InterruptedException {
+        while (rows.hasNext()) {
+            if (isCancelled) {
+                return;
+            }
+            writer.writeRow(rows.next());
+            if (writer.isFull() && !putFrame()) {
+                return;
+            }
+        }
+        writer.writeEnd();
+        if (!writer.isEmpty() && !putFrame()) {
+            return;
+        }
+        put(LAST);
+    }
+
+    @Override
+    public void run() {
+        try {
+            produce();
+        } catch (final Throwable e) {
+            try {
+                put(new Frame(null, 0, e));
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public Frame take() {
+        try {
+            return ready.take();
+        } catch (InterruptedException e) {
+            cancel();
+            throw new PGError(e, "COPY IN has been interrupted");
+        }
+    }
+
+    public void release(final byte[] buf) {
+        free.offer(buf);
+    }
+
+    public void cancel() {
+        isCancelled = true;
+        ready.clear();
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.pg;
+
+import clojure.lang.ITransientCollection;
+import clojure.lang.PersistentVector;
+import org.pg.codec.CodecParams;
+import org.pg.enums.OID;
+import org.pg.processor.IProcessor;
+
+import java.util.Arrays;
+
+/*
+A base for COPY OUT readers. A reader gets CopyData payloads one by one,
+splits them into rows, decodes each value with a processor according
+to the OID of its column, and passes rows into the Result as vectors.
+Postgres may split a row across several CopyData messages, so
+an incomplete tail is kept until the next message arrives.
+ */
+public abstract class CopyReader {
+
+    protected final CodecParams codecParams;
+    private final int[] oids;
+    private IProcessor[] processors;
+
+    private byte[] tail = new byte[0];
+    private int tailLen = 0;
+
+    protected CopyReader(final CodecParams codecParams, final int[] oids) {
+        this.codecParams = codecParams;
+        this.oids = oids;
+        this.processors = new IProcessor[oids.length];
+    }
+
+    /*
+    Consume as many complete rows as possible from the range and
+    return the position of the first unconsumed byte.
+     */
+    protected abstract int readRows(byte[] buf, int offset, int end, Result res);
+
+    protected final IProcessor getProcessor(final int i) {
+        if (i >= processors.length) {
+            processors = Arrays.copyOf(processors, Math.max(i + 1, processors.length * 2));
+        }
+        IProcessor processor = processors[i];
+        if (processor == null) {
+            processor = codecParams.getProcessor(i < oids.length ? oids[i] : OID.DEFAULT);
+            processors[i] = processor;
+        }
+        return processor;
+    }
+
+    protected static Object toRow(final Object[] values, final int count) {
+        ITransientCollection row = PersistentVector.EMPTY.asTransient();
+        for (int i = 0; i < count; i++) {
+            row = row.conj(values[i]);
+            values[i] = null;
+        }
+        return row.persistent();
+    }
+
+    public final void read(final byte[] buf, final int offset, final int len, final Result res) {
+        if (tailLen == 0) {
+            final int pos = readRows(buf, offset, offset + len, res);
+            keepTail(buf, pos, offset + len - pos);
+        } else {
+            // Decoded values may refer to the bytes (e.g. buffers),
+            // so parse a copy rather than the reusable tail.
+            keepTail(buf, offset, len);
+            final byte[] data = Arrays.copyOf(tail, tailLen);
+            final int pos = readRows(data, 0, data.length, res);
+            tailLen = 0;
+            keepTail(data, pos, data.length - pos);
+        }
+    }
+
+    private void keepTail(final byte[] buf, final int offset, final int len) {
+        if (len == 0) {
+            return;
+        }
+        if (tailLen + len > tail.length) {
+            tail = Arrays.copyOf(tail, Math.max(tailLen + len, tail.length * 2));
+        }
+        System.arraycopy(buf, offset, tail, tailLen, len);
+        tailLen += len;
+    }
+
+}
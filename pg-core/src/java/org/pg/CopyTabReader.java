@@ -0,0 +1,136 @@
+package org.pg;
+
+import org.pg.codec.CodecParams;
+import org.pg.processor.IProcessor;
+
+import java.util.Arrays;
+
+/*
+TEXT (tab-delimited) COPY OUT reader. Values without backslashes get
+decoded right from the message bytes; the rest are unescaped into
+a scratch buffer first. \N stands for NULL.
+ */
+public final class CopyTabReader extends CopyReader {
+
+    private Object[] values = new Object[8];
+    private byte[] scratch = new byte[64];
+
+    public CopyTabReader(final CodecParams codecParams, final int[] oids) {
+        super(codecParams, oids);
+    }
+
+    private static int hex(final byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        } else if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        } else if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        } else {
+            return -1;
+        }
+    }
+
+    private static boolean isOctal(final byte b) {
+        return b >= '0' && b <= '7';
+    }
+
+    /*
+    Unescape a value into the scratch buffer; return its length.
+    See the "Text Format" section of the COPY documentation.
+     */
+    private int unescape(final byte[] buf, final int start, final int end) {
+        if (scratch.length < end - start) {
+            scratch = new byte[Math.max(end - start, scratch.length * 2)];
+        }
+        int len = 0;
+        int i = start;
+        byte b;
+        while (i < end) {
+            b = buf[i++];
+            if (b != '\\' || i == end) {
+                scratch[len++] = b;
+                continue;
+            }
+            b = buf[i++];
+            switch (b) {
+                case 'b' -> scratch[len++] = '\b';
+                case 'f' -> scratch[len++] = '\f';
+                case 'n' -> scratch[len++] = '\n';
+                case 'r' -> scratch[len++] = '\r';
+                case 't' -> scratch[len++] = '\t';
+                case 'v' -> scratch[len++] = 0x0B;
+                case 'x' -> {
+                    int value = 0;
+                    int digits = 0;
+                    while (digits < 2 && i < end && hex(buf[i]) != -1) {
+                        value = value * 16 + hex(buf[i++]);
+                        digits++;
+                    }
+                    scratch[len++] = digits == 0 ? (byte) 'x' : (byte) value;
+                }
+                default -> {
+                    if (isOctal(b)) {
+                        int value = b - '0';
+                        int digits = 1;
+                        while (digits < 3 && i < end && isOctal(buf[i])) {
+                            value = value * 8 + (buf[i++] - '0');
+                            digits++;
+                        }
+                        scratch[len++] = (byte) value;
+                    } else {
+                        scratch[len++] = b;
+                    }
+                }
+            }
+        }
+        return len;
+    }
+
+    private Object decodeValue(final int i, final byte[] buf, final int start, final int end) {
+        if (end - start == 2 && buf[start] == '\\' && buf[start + 1] == 'N') {
+            return null;
+        }
+        final IProcessor processor = getProcessor(i);
+        for (int j = start; j < end; j++) {
+            if (buf[j] == '\\') {
+                final int len = unescape(buf, start, end);
+                return processor.decodeTxt(scratch, 0, len, codecParams);
+            }
+        }
+        return processor.decodeTxt(buf, start, end - start, codecParams);
+    }
+
+    private void readRow(final byte[] buf, final int start, final int end, final Result res) {
+        // the end-of-data marker
+        if (end - start == 2 && buf[start] == '\\' && buf[start + 1] == '.') {
+            return;
+        }
+        int count = 0;
+        int cellStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buf[i] == '\t') {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count] = decodeValue(count, buf, cellStart, i);
+                count++;
+                cellStart = i + 1;
+            }
+        }
+        res.addCopyRow(toRow(values, count));
+    }
+
+    @Override
+    protected int readRows(final byte[] buf, final int offset, final int end, final Result res) {
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            if (buf[i] == '\n') {
+                readRow(buf, start, i, res);
+                start = i + 1;
+            }
+        }
+        return start;
+    }
+
+}
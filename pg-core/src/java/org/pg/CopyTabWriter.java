@@ -0,0 +1,69 @@
+package org.pg;
+
+import org.pg.codec.CodecParams;
+import org.pg.processor.IProcessor;
+
+import java.util.List;
+
+/*
+TEXT (tab-delimited) COPY IN writer. Cells are separated with a tab,
+rows end with a newline, NULL is \N. A backslash, a tab and line
+breaks in values are escaped with a backslash.
+ */
+public final class CopyTabWriter extends CopyWriter {
+
+    private static final byte[] NULL = {(byte) '\\', (byte) 'N'};
+
+    public CopyTabWriter(final CodecParams codecParams, final int[] oids, final int threshold) {
+        super(codecParams, oids, threshold);
+    }
+
+    private static boolean isEscapeNeeded(final String s) {
+        char c;
+        for (int i = 0; i < s.length(); i++) {
+            c = s.charAt(i);
+            if (c == '\\' || c == '\t' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String escape(final String s) {
+        if (!isEscapeNeeded(s)) {
+            return s;
+        }
+        final StringBuilder sb = new StringBuilder(s.length() + 8);
+        char c;
+        for (int i = 0; i < s.length(); i++) {
+            c = s.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void writeRow(final List<Object> row) {
+        int i = 0;
+        for (final Object item: row) {
+            if (i > 0) {
+                put((byte) '\t');
+            }
+            if (item == null) {
+                put(NULL);
+            } else {
+                final IProcessor processor = getProcessor(i, item);
+                putString(escape(processor.encodeTxt(item, codecParams)));
+            }
+            i++;
+        }
+        put((byte) '\n');
+    }
+
+}
@@ -0,0 +1,237 @@
+package org.pg;
+
+import org.pg.error.PGError;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+A destination of COPY OUT data which doesn't need CopyData messages
+to be parsed. The payload of a message is read from the socket stream
+right into a reusable buffer and written into a channel or a memory
+mapped file in large portions, so no array is allocated per message.
+
+A write error doesn't break the connection: the rest of the data
+is read and dropped, and the error is reported at the end.
+ */
+public abstract class CopyTarget {
+
+    private final long startedAt = System.nanoTime();
+    private long finishedAt = 0;
+    protected long bytes = 0;
+    protected IOException error;
+
+    protected abstract void write(InputStream in, int len) throws IOException;
+
+    protected abstract void finish() throws IOException;
+
+    static void readFully(final InputStream in, final byte[] buf, final int offset, final int len)
+            throws IOException {
+        int off = offset;
+        int left = len;
+        int r;
+        while (left > 0) {
+            r = in.read(buf, off, left);
+            if (r == -1) {
+                throw new IOException("unexpected end of the stream");
+            }
+            off += r;
+            left -= r;
+        }
+    }
+
+    /*
+    Read a message payload of len bytes from the stream. IOExceptions
+    thrown here are related to the stream.
+     */
+    public final void transfer(final InputStream in, final int len) throws IOException {
+        if (error == null) {
+            write(in, len);
+            bytes += len;
+        } else {
+            in.skipNBytes(len);
+        }
+    }
+
+    public final void close() {
+        try {
+            finish();
+        } catch (IOException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+        finishedAt = System.nanoTime();
+    }
+
+    public final IOException getError() {
+        return error;
+    }
+
+    public final long getBytes() {
+        return bytes;
+    }
+
+    public final double getBytesPerSec() {
+        final long elapsed = (finishedAt == 0 ? System.nanoTime() : finishedAt) - startedAt;
+        return elapsed <= 0 ? 0 : bytes * 1_000_000_000.0 / elapsed;
+    }
+
+    /*
+    Collect payloads into a buffer and write it into a channel
+    when it's full.
+     */
+    public static final class Channel extends CopyTarget {
+
+        private final WritableByteChannel channel;
+        private final boolean isOwned;
+        private final ByteBuffer buf;
+
+        public Channel(final WritableByteChannel channel, final int bufSize, final boolean isOwned) {
+            this.channel = channel;
+            this.isOwned = isOwned;
+            this.buf = ByteBuffer.allocate(Math.max(bufSize, 0xFF));
+        }
+
+        public static Channel ofPath(final Path path, final int bufSize) {
+            try {
+                final FileChannel fc = FileChannel.open(path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                );
+                return new Channel(fc, bufSize, true);
+            } catch (IOException e) {
+                throw new PGError(e, "cannot open file %s: %s", path, e.getMessage());
+            }
+        }
+
+        private void flush() {
+            buf.flip();
+            try {
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            buf.clear();
+        }
+
+        @Override
+        protected void write(final InputStream in, final int len) throws IOException {
+            int left = len;
+            int chunk;
+            while (left > 0) {
+                if (!buf.hasRemaining()) {
+                    flush();
+                }
+                chunk = Math.min(left, buf.remaining());
+                readFully(in, buf.array(), buf.position(), chunk);
+                buf.position(buf.position() + chunk);
+                left -= chunk;
+            }
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            if (error == null) {
+                flush();
+            }
+            if (isOwned) {
+                channel.close();
+            }
+        }
+    }
+
+    /*
+    Write payloads into a file mapped into memory by regions
+    of mapSize bytes. Once a region is full, the next one gets
+    mapped. At the end, the file is truncated to the bytes actually
+    written, also when a write has failed.
+     */
+    public static final class Mmap extends CopyTarget {
+
+        private final FileChannel channel;
+        private final long mapSize;
+        private final byte[] chunk;
+        private MappedByteBuffer region;
+        private long regionOffset = 0;
+
+        public Mmap(final Path path, final long mapSize, final int bufSize) {
+            if (mapSize <= 0) {
+                throw new PGError("mmap size must be positive: %s", mapSize);
+            }
+            this.mapSize = mapSize;
+            this.chunk = new byte[Math.max(bufSize, 0xFF)];
+            try {
+                this.channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                );
+                this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, mapSize);
+            } catch (IOException e) {
+                throw new PGError(e, "cannot map file %s: %s", path, e.getMessage());
+            }
+        }
+
+        private void nextRegion() {
+            final long offset = regionOffset + region.position();
+            try {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, offset, mapSize);
+                regionOffset = offset;
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+
+        @Override
+        protected void write(final InputStream in, final int len) throws IOException {
+            int left = len;
+            int size;
+            int off;
+            int part;
+            while (left > 0) {
+                size = Math.min(left, chunk.length);
+                readFully(in, chunk, 0, size);
+                left -= size;
+                off = 0;
+                while (off < size) {
+                    if (error != null) {
+                        break;
+                    }
+                    if (!region.hasRemaining()) {
+                        nextRegion();
+                        continue;
+                    }
+                    part = Math.min(size - off, region.remaining());
+                    region.put(chunk, off, part);
+                    off += part;
+                }
+            }
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            // drop the zero tail of the last region even after
+            // a write error, so the file has only the data written
+            try {
+                if (error == null) {
+                    region.force();
+                }
+                channel.truncate(regionOffset + region.position());
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+}
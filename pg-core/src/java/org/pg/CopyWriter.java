@@ -0,0 +1,202 @@
+package org.pg;
+
+import org.pg.codec.CodecParams;
+import org.pg.enums.OID;
+import org.pg.processor.IProcessor;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+A base for COPY IN writers. Rows get encoded into a single reusable
+frame which is a complete CopyData message: the 'd' tag, the length
+and the payload. Once the payload exceeds the threshold, the frame
+should be sent and reset. Thus, a large COPY produces one message
+per ~threshold bytes rather than a message per row. The frame grows
+when a row doesn't fit into it. Postgres doesn't require CopyData
+boundaries to match row boundaries.
+ */
+public abstract class CopyWriter {
+
+    private static final int HEADER_SIZE = 5;
+
+    protected final CodecParams codecParams;
+    private final int[] oids;
+    private final int threshold;
+    private IProcessor[] processors;
+    private final CharsetEncoder encoder;
+
+    protected byte[] buf;
+    protected int pos;
+
+    protected CopyWriter(final CodecParams codecParams, final int[] oids, final int threshold) {
+        this.codecParams = codecParams;
+        this.oids = oids;
+        this.threshold = Math.max(threshold, 1);
+        this.processors = new IProcessor[oids.length];
+        this.buf = new byte[HEADER_SIZE + this.threshold + 0xFF];
+        this.buf[0] = (byte) 'd';
+        this.pos = HEADER_SIZE;
+        this.encoder = codecParams.clientCharset()
+                .newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    public abstract void writeRow(List<Object> row);
+
+    /*
+    Write a trailer of the data, if any.
+     */
+    public void writeEnd() {}
+
+    /*
+    Resolve a processor once per column. When there is no OID
+    for a column, take the default one for the first non-null value.
+     */
+    protected final IProcessor getProcessor(final int i, final Object item) {
+        if (i >= processors.length) {
+            processors = Arrays.copyOf(processors, Math.max(i + 1, processors.length * 2));
+        }
+        IProcessor processor = processors[i];
+        if (processor == null) {
+            final int oid = i < oids.length ? oids[i] : OID.defaultOID(item);
+            processor = codecParams.getProcessor(oid);
+            processors[i] = processor;
+        }
+        return processor;
+    }
+
+    protected final void ensure(final int size) {
+        final int required = pos + size;
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(required, buf.length * 2));
+        }
+    }
+
+    protected final void put(final byte b) {
+        ensure(1);
+        buf[pos++] = b;
+    }
+
+    protected final void put(final byte[] bytes) {
+        put(bytes, 0, bytes.length);
+    }
+
+    protected final void put(final byte[] bytes, final int offset, final int len) {
+        ensure(len);
+        System.arraycopy(bytes, offset, buf, pos, len);
+        pos += len;
+    }
+
+    protected final void putShort(final short s) {
+        ensure(2);
+        buf[pos++] = (byte) (s >>> 8);
+        buf[pos++] = (byte) s;
+    }
+
+    protected final void putInt(final int i) {
+        ensure(4);
+        buf[pos++] = (byte) (i >>> 24);
+        buf[pos++] = (byte) (i >>> 16);
+        buf[pos++] = (byte) (i >>> 8);
+        buf[pos++] = (byte) i;
+    }
+
+    protected final void put(final ByteBuffer bb) {
+        final int len = bb.limit();
+        if (bb.hasArray()) {
+            put(bb.array(), bb.arrayOffset(), len);
+        } else {
+            ensure(len);
+            bb.get(0, buf, pos, len);
+            pos += len;
+        }
+    }
+
+    private void putEncoded(final String s, final int from) {
+        final CharBuffer cb = CharBuffer.wrap(s, from, s.length());
+        encoder.reset();
+        CoderResult cr;
+        boolean flushing = false;
+        while (true) {
+            final ByteBuffer out = ByteBuffer.wrap(buf, pos, buf.length - pos);
+            cr = flushing ? encoder.flush(out) : encoder.encode(cb, out, true);
+            pos = out.position();
+            if (cr.isOverflow()) {
+                ensure(Math.max(16, (int) (cb.remaining() * encoder.maxBytesPerChar())));
+            } else if (flushing) {
+                return;
+            } else {
+                flushing = true;
+            }
+        }
+    }
+
+    /*
+    Encode a string with the client charset right into the frame:
+    ASCII characters are copied as is, the rest goes through
+    a CharsetEncoder.
+     */
+    protected final void putString(final String s) {
+        final int len = s.length();
+        ensure(len);
+        char c;
+        for (int i = 0; i < len; i++) {
+            c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else {
+                putEncoded(s, i);
+                return;
+            }
+        }
+    }
+
+    public final boolean isEmpty() {
+        return pos == HEADER_SIZE;
+    }
+
+    public final boolean isFull() {
+        return pos - HEADER_SIZE >= threshold;
+    }
+
+    /*
+    Return the underlying array with the length of the message
+    patched. Only the first frameLength() bytes are meaningful.
+     */
+    public final byte[] frame() {
+        final int len = pos - 1;
+        buf[1] = (byte) (len >>> 24);
+        buf[2] = (byte) (len >>> 16);
+        buf[3] = (byte) (len >>> 8);
+        buf[4] = (byte) len;
+        return buf;
+    }
+
+    public final int frameLength() {
+        return pos;
+    }
+
+    public final void reset() {
+        pos = HEADER_SIZE;
+    }
+
+    /*
+    Take the current frame away (see frame()) and continue with
+    the replacement array, or a new one if it's null.
+     */
+    public final byte[] detach(final byte[] replacement) {
+        final byte[] result = frame();
+        buf = replacement == null ? new byte[HEADER_SIZE + threshold + 0xFF] : replacement;
+        buf[0] = (byte) 'd';
+        pos = HEADER_SIZE;
+        return result;
+    }
+
+}
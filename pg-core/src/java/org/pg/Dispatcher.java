@@ -0,0 +1,232 @@
+package org.pg;
+
+import clojure.lang.IFn;
+import clojure.lang.IPersistentVector;
+import clojure.lang.PersistentHashMap;
+import clojure.lang.PersistentVector;
+import org.pg.clojure.KW;
+import org.pg.enums.OverflowPolicy;
+import org.pg.error.PGError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Runs handlers in a fixed set of worker threads. Each worker has
+its own bounded queue, and a task goes to a worker chosen by the
+hash of its key (e.g. a channel name). Thus, handlers of the same
+key are called in order, one by one, while different keys are
+processed in parallel.
+
+When a queue is full, the overflow policy applies: BLOCK makes
+the caller wait (which slows down reading the connection),
+DROP_NEWEST skips the new task, DROP_OLDEST removes the eldest
+one from the queue. Dropped tasks are counted.
+ */
+public final class Dispatcher implements AutoCloseable {
+
+    private record Task(IFn handler, Object arg, long queuedAt) {}
+
+    private static final Task STOP = new Task(null, null, 0);
+    private static final long BLOCK_CHECK_MS = 100;
+
+    private final List<BlockingQueue<Task>> queues;
+    private final List<Thread> threads;
+    private final OverflowPolicy overflowPolicy;
+    private volatile boolean isClosed = false;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder handleNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong handleNanosMax = new AtomicLong();
+
+    public Dispatcher(final int workerCount, final int queueSize, final OverflowPolicy overflowPolicy) {
+        if (workerCount < 1) {
+            throw new PGError("the number of workers must be positive: %s", workerCount);
+        }
+        if (queueSize < 1) {
+            throw new PGError("the queue size must be positive: %s", queueSize);
+        }
+        this.overflowPolicy = overflowPolicy;
+        this.queues = new ArrayList<>(workerCount);
+        this.threads = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            final BlockingQueue<Task> queue = new ArrayBlockingQueue<>(queueSize);
+            final Thread thread = new Thread(() -> work(queue), "pg-dispatcher-" + i);
+            thread.setDaemon(true);
+            queues.add(queue);
+            threads.add(thread);
+        }
+        for (final Thread thread: threads) {
+            thread.start();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static Dispatcher standard() {
+        return new Dispatcher(
+                Const.DISPATCHER_WORKERS,
+                Const.DISPATCHER_QUEUE_SIZE,
+                OverflowPolicy.BLOCK
+        );
+    }
+
+    private void work(final BlockingQueue<Task> queue) {
+        Task task;
+        long started;
+        long elapsed;
+        while (true) {
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            started = System.nanoTime();
+            waitNanos.add(started - task.queuedAt);
+            try {
+                task.handler.invoke(task.arg);
+            } catch (final Throwable e) {
+                failed.increment();
+            }
+            elapsed = System.nanoTime() - started;
+            handleNanos.add(elapsed);
+            handleNanosMax.accumulateAndGet(elapsed, Math::max);
+            handled.increment();
+        }
+    }
+
+    private BlockingQueue<Task> getQueue(final Object key) {
+        final int h = key == null ? 0 : key.hashCode();
+        return queues.get(Math.floorMod(h ^ (h >>> 16), queues.size()));
+    }
+
+    /*
+    Pass the argument into the handler in a worker chosen by the key.
+    Return false if the task has been dropped. It's called from the
+    connection's read loop, so it never throws: a task submitted
+    after close is dropped as well.
+     */
+    public boolean submit(final Object key, final IFn handler, final Object arg) {
+        submitted.increment();
+        if (isClosed) {
+            dropped.increment();
+            return false;
+        }
+        final BlockingQueue<Task> queue = getQueue(key);
+        final Task task = new Task(handler, arg, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    // wake up from time to time: the workers
+                    // might have been stopped in the meantime
+                    while (!queue.offer(task, BLOCK_CHECK_MS, TimeUnit.MILLISECONDS)) {
+                        if (isClosed) {
+                            dropped.increment();
+                            return false;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    dropped.increment();
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!queue.offer(task)) {
+                    dropped.increment();
+                    return false;
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(task)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (final BlockingQueue<Task> queue: queues) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    private static double nanosToMs(final double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @SuppressWarnings("unused")
+    public Object stats() {
+        IPersistentVector depths = PersistentVector.EMPTY;
+        for (final BlockingQueue<Task> queue: queues) {
+            depths = depths.cons(queue.size());
+        }
+        final long handledCount = handled.sum();
+        return PersistentHashMap.create(
+                KW.workers, queues.size(),
+                KW.queue_depth, queueDepth(),
+                KW.queue_depths, depths,
+                KW.submitted, submitted.sum(),
+                KW.handled, handledCount,
+                KW.failed, failed.sum(),
+                KW.dropped, dropped.sum(),
+                KW.wait_avg_ms, handledCount == 0 ? 0.0 : nanosToMs((double) waitNanos.sum() / handledCount),
+                KW.latency_avg_ms, handledCount == 0 ? 0.0 : nanosToMs((double) handleNanos.sum() / handledCount),
+                KW.latency_max_ms, nanosToMs(handleNanosMax.get())
+        );
+    }
+
+    /*
+    Stop accepting tasks, let the workers handle what has been
+    queued, and wait for them to finish. Tasks submitted later
+    are counted as dropped.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        try {
+            for (final BlockingQueue<Task> queue: queues) {
+                queue.put(STOP);
+            }
+            for (final Thread thread: threads) {
+                thread.join();
+            }
+            // tasks which slipped in after STOP have no consumer
+            for (final BlockingQueue<Task> queue: queues) {
+                dropped.add(queue.size());
+                queue.clear();
+            }
+        } catch (InterruptedException e) {
+            for (final Thread thread: threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<PG dispatcher, workers: %s, policy: %s, queued: %s>",
+                queues.size(), overflowPolicy, queueDepth());
+    }
+
+}
@@ -3,10 +3,13 @@ package org.pg;
 import clojure.lang.IFn;
 import org.pg.clojure.CljAPI;
 import org.pg.enums.CopyFormat;
+import org.pg.error.PGError;
 import org.pg.reducer.*;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.*;
 
 public record ExecuteParams (
@@ -29,7 +32,14 @@ public record ExecuteParams (
         boolean isCopyInRows,
         List<Map<Object, Object>> copyInMaps,
         boolean isCopyInMaps,
-        List<Object> copyInKeys
+        List<Object> copyInKeys,
+        int internLimit,
+        boolean isCopyOutRows,
+        boolean copyInThread,
+        WritableByteChannel outputChannel,
+        Path outputFile,
+        long mmapSize,
+        long timeoutMs
 ) {
 
     public static Builder builder() {
@@ -42,6 +52,76 @@ public record ExecuteParams (
         return new Builder().build();
     }
 
+    /*
+    Copy the params with another source of COPY IN rows.
+     */
+    public ExecuteParams withCopyInRows(final List<List<Object>> rows) {
+        return new ExecuteParams(
+                params,
+                oids,
+                reducer,
+                maxRows,
+                fnKeyTransform,
+                outputStream,
+                inputStream,
+                binaryEncode,
+                binaryDecode,
+                CSVNull,
+                CSVCellSep,
+                CSVQuote,
+                CSVLineSep,
+                copyFormat,
+                copyBufSize,
+                Objects.requireNonNull(rows, "COPY IN rows cannot be null"),
+                true,
+                Collections.emptyList(),
+                false,
+                copyInKeys,
+                internLimit,
+                isCopyOutRows,
+                copyInThread,
+                outputChannel,
+                outputFile,
+                mmapSize,
+                timeoutMs
+        );
+    }
+
+    /*
+    Copy the params with another COPY IN input stream.
+     */
+    public ExecuteParams withInputStream(final InputStream inputStream) {
+        return new ExecuteParams(
+                params,
+                oids,
+                reducer,
+                maxRows,
+                fnKeyTransform,
+                outputStream,
+                Objects.requireNonNull(inputStream, "the input stream cannot be null"),
+                binaryEncode,
+                binaryDecode,
+                CSVNull,
+                CSVCellSep,
+                CSVQuote,
+                CSVLineSep,
+                copyFormat,
+                copyBufSize,
+                Collections.emptyList(),
+                false,
+                Collections.emptyList(),
+                false,
+                copyInKeys,
+                internLimit,
+                isCopyOutRows,
+                copyInThread,
+                outputChannel,
+                outputFile,
+                mmapSize,
+                timeoutMs
+        );
+    }
+
     public final static class Builder {
 
         private List<Object> params = Collections.emptyList();
@@ -64,6 +144,13 @@ public record ExecuteParams (
         private List<Map<Object, Object>> copyInMaps = Collections.emptyList();
         private boolean isCopyInMaps = false;
         List<Object> copyInKeys = Collections.emptyList();
+        private int internLimit = Const.INTERN_LIMIT;
+        private boolean isCopyOutRows = false;
+        private boolean copyInThread = false;
+        private WritableByteChannel outputChannel = null;
+        private Path outputFile = null;
+        private long mmapSize = 0;
+        private long timeoutMs = 0;
 
         public Builder params (final List<Object> params) {
             this.params = Objects.requireNonNull(params);
@@ -90,6 +177,18 @@ public record ExecuteParams (
             return this;
         }
 
+        @SuppressWarnings("unused")
+        public Builder copyOutRows (final boolean isCopyOutRows) {
+            this.isCopyOutRows = isCopyOutRows;
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder copyInThread (final boolean copyInThread) {
+            this.copyInThread = copyInThread;
+            return this;
+        }
+
         @SuppressWarnings("unused")
         public Builder params (final Object[] params) {
             this.params = Arrays.asList(params);
@@ -102,6 +201,30 @@ public record ExecuteParams (
             return this;
         }
 
+        @SuppressWarnings("unused")
+        public Builder outputChannel (final WritableByteChannel outputChannel) {
+            this.outputChannel = Objects.requireNonNull(outputChannel, "the output channel cannot be null");
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder outputFile (final Path outputFile) {
+            this.outputFile = Objects.requireNonNull(outputFile, "the output file cannot be null");
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder mmapSize (final long mmapSize) {
+            this.mmapSize = mmapSize;
+            return this;
+        }
+
+        @SuppressWarnings("unused")
+        public Builder timeoutMs (final long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+            return this;
+        }
+
         @SuppressWarnings("unused")
         public Builder inputStream (final InputStream inputStream) {
             this.inputStream = Objects.requireNonNull(inputStream, "the input stream cannot be null");
@@ -200,6 +323,18 @@ public record ExecuteParams (
             return this;
         }
 
+        @SuppressWarnings("unused")
+        public Builder internLimit (final int internLimit) {
+            if (internLimit < 0 || internLimit > Const.INTERN_LIMIT_MAX) {
+                throw new PGError("intern limit must be between 0 and %s: %s",
+                        Const.INTERN_LIMIT_MAX,
+                        internLimit
+                );
+            }
+            this.internLimit = internLimit;
+            return this;
+        }
+
         public ExecuteParams build () {
             return new ExecuteParams(
                     params,
@@ -221,7 +356,14 @@ public record ExecuteParams (
                     isCopyInRows,
                     copyInMaps,
                     isCopyInMaps,
-                    copyInKeys
+                    copyInKeys,
+                    internLimit,
+                    isCopyOutRows,
+                    copyInThread,
+                    outputChannel,
+                    outputFile,
+                    mmapSize,
+                    timeoutMs
             );
         }
     }
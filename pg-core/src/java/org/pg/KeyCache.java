@@ -0,0 +1,56 @@
+package org.pg;
+
+import clojure.lang.IFn;
+import org.pg.msg.server.RowDescription;
+
+/*
+Remembers the keys computed for the latest RowDescription of a
+prepared statement. Turning column names into keys means unifying
+duplicates and calling the key function (a keyword by default,
+which locks the global keyword table) per each column. As a statement
+mostly returns the same columns, reuse the keys when both the column
+names and the key function match.
+ */
+public final class KeyCache {
+
+    private record Entry(IFn fnKeyTransform, RowDescription rowDescription, Object[] keys) {}
+
+    private volatile Entry entry;
+
+    private static boolean sameColumns(final RowDescription rd1, final RowDescription rd2) {
+        if (rd1 == rd2) {
+            return true;
+        }
+        if (rd1.columnCount() != rd2.columnCount()) {
+            return false;
+        }
+        final RowDescription.Column[] cols1 = rd1.columns();
+        final RowDescription.Column[] cols2 = rd2.columns();
+        for (int i = 0; i < cols1.length; i++) {
+            if (!cols1[i].name().equals(cols2[i].name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Object[] get(final IFn fnKeyTransform, final RowDescription rowDescription) {
+        final Entry e = entry;
+        if (e != null
+                && e.fnKeyTransform == fnKeyTransform
+                && sameColumns(e.rowDescription, rowDescription)) {
+            return e.keys;
+        }
+        return null;
+    }
+
+    public void put(final IFn fnKeyTransform, final RowDescription rowDescription, final Object[] keys) {
+        entry = new Entry(fnKeyTransform, rowDescription, keys);
+    }
+
+    @Override
+    public String toString() {
+        final Entry e = entry;
+        return String.format("KeyCache[keys=%s]", e == null ? "null" : e.keys.length);
+    }
+}
@@ -0,0 +1,173 @@
+package org.pg;
+
+import org.pg.error.PGError;
+import org.pg.msg.server.IServerMessage;
+import org.pg.msg.server.ReadyForQuery;
+import org.pg.util.SQLTool;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/*
+A dedicated connection for LISTEN. A background thread blocks
+on the socket and passes notifications to the fnNotification
+handler as soon as they arrive: nothing is sent to the server
+but LISTEN/UNLISTEN commands, so there is no polling.
+
+The background thread is the only reader of the connection.
+A command is written by the calling thread which then waits
+until the reader gets ReadyForQuery for it. Commands are
+acknowledged in the order they were sent.
+ */
+public final class Listener implements AutoCloseable {
+
+    private final Config config;
+    private final Connection conn;
+    private final Thread thread;
+    private final Queue<CompletableFuture<Void>> pending = new ArrayDeque<>();
+    private final Set<String> channels = ConcurrentHashMap.newKeySet();
+    private volatile boolean isRunning = true;
+    private volatile boolean isClosed = false;
+    private volatile Throwable error;
+
+    private Listener(final Config config) {
+        if (config.fnNotification() == null) {
+            throw new PGError("listener requires the fnNotification handler");
+        }
+        this.config = config;
+        this.conn = Connection.connect(config);
+        // SOTimeout applies to queries; a listener may stay idle for long
+        this.conn.setReadTimeout(0);
+        this.thread = new Thread(this::loop, "pg-listener");
+        this.thread.setDaemon(true);
+    }
+
+    @SuppressWarnings("unused")
+    public static Listener start(final Config config) {
+        final Listener listener = new Listener(config);
+        listener.thread.start();
+        return listener;
+    }
+
+    private void loop() {
+        Result res = new Result(config, ExecuteParams.INSTANCE, "--listener");
+        try {
+            while (true) {
+                final IServerMessage msg = conn.readMessage();
+                conn.handleMessageUnlocked(msg, res);
+                if (msg instanceof ReadyForQuery) {
+                    complete(res);
+                    res = new Result(config, ExecuteParams.INSTANCE, "--listener");
+                }
+            }
+        } catch (final Throwable e) {
+            stop(isClosed ? null : e);
+        }
+    }
+
+    private void complete(final Result res) {
+        final CompletableFuture<Void> future;
+        synchronized (this) {
+            future = pending.poll();
+        }
+        if (future == null) {
+            return;
+        }
+        try {
+            res.maybeThrowError();
+            future.complete(null);
+        } catch (final Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private synchronized void stop(final Throwable e) {
+        error = e;
+        isRunning = false;
+        final PGError reason = new PGError(e, "listener has been stopped");
+        CompletableFuture<Void> future;
+        while ((future = pending.poll()) != null) {
+            future.completeExceptionally(reason);
+        }
+    }
+
+    private void command(final String sql) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this) {
+            if (!isRunning) {
+                throw new PGError(error, "listener is not running");
+            }
+            pending.add(future);
+            conn.sendQueryUnlocked(sql);
+        }
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            throw new PGError(e, "listener command has been interrupted: %s", sql);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new PGError(e.getCause(), "listener command has failed: %s", sql);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public void listen(final String channel) {
+        command(String.format("listen %s", SQLTool.quoteChannel(channel)));
+        channels.add(channel);
+    }
+
+    @SuppressWarnings("unused")
+    public void unlisten(final String channel) {
+        command(String.format("unlisten %s", SQLTool.quoteChannel(channel)));
+        channels.remove(channel);
+    }
+
+    @SuppressWarnings("unused")
+    public Set<String> getChannels() {
+        return Set.copyOf(channels);
+    }
+
+    @SuppressWarnings("unused")
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    @SuppressWarnings("unused")
+    public Throwable getError() {
+        return error;
+    }
+
+    @SuppressWarnings("unused")
+    public int getPid() {
+        return conn.getPid();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            conn.close();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<PG listener, pid: %s, channels: %s, running: %s>",
+                conn.getPid(), channels, isRunning);
+    }
+
+}
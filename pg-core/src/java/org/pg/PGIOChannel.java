@@ -20,4 +20,10 @@ public interface PGIOChannel extends Channel, AutoCloseable {
     OutputStream getOutputStream() throws IOException;
     PGIOChannel upgradeToSSL(SSLContext sslContext);
     Certificate getPeerCertificate();
+
+    /*
+    Set how long a blocking read may wait, 0 means forever.
+    Backends with no such option ignore it.
+     */
+    default void setReadTimeout(final int ms) throws IOException {}
 }
@@ -66,6 +66,11 @@ public class PGSocketChannel implements PGIOChannel {
         return socket.getOutputStream();
     }
 
+    @Override
+    public void setReadTimeout(final int ms) throws IOException {
+        socket.setSoTimeout(ms);
+    }
+
     public boolean isOpen() {
         return socket.isConnected();
     }
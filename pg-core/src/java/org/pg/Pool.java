@@ -1,7 +1,10 @@
 package org.pg;
 
+import clojure.lang.IReduceInit;
+import org.pg.codec.TypeRegistry;
 import org.pg.error.PGError;
 import org.pg.util.TryLock;
+import java.io.InputStream;
 import java.util.*;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,6 +14,7 @@ public final class Pool implements AutoCloseable {
 
     private final UUID id;
     private final Config config;
+    private final TypeRegistry typeRegistry;
     private final Map<UUID, Connection> connsUsed;
     private final Map<UUID, Long> healthCheckDate;
     private final ArrayBlockingQueue<Connection> connsFree;
@@ -32,6 +36,11 @@ public final class Pool implements AutoCloseable {
         return config;
     }
 
+    @SuppressWarnings("unused")
+    public TypeRegistry getTypeRegistry () {
+        return typeRegistry;
+    }
+
     @SuppressWarnings("unused")
     public static Pool clone(final Pool other) {
         return Pool.create(other.getConfig());
@@ -55,6 +64,7 @@ public final class Pool implements AutoCloseable {
         final int size = config.poolMaxSize();
         this.id = UUID.randomUUID();
         this.config = config;
+        this.typeRegistry = TypeRegistry.forServer(config.serverIdentity());
         this.connsUsed = new ConcurrentHashMap<>(size);
         this.healthCheckDate = new ConcurrentHashMap<>(size);
         this.connsFree = new ArrayBlockingQueue<>(size);
@@ -210,7 +220,7 @@ public final class Pool implements AutoCloseable {
     }
 
     private Connection spawnConnection() {
-        final Connection conn = Connection.connect(config);
+        final Connection conn = Connection.connect(config, typeRegistry);
         healthCheckDate.put(conn.getId(), System.currentTimeMillis());
         logger.log(System.Logger.Level.DEBUG,
                 "connection {0} has been created, free: {1}, used: {2}, max: {3}, pool: {4}",
@@ -307,6 +317,43 @@ public final class Pool implements AutoCloseable {
         }
     }
 
+    /*
+    Split the rows into chunks and COPY them in parallel using
+    several connections. See the CopyParallel class.
+     */
+    @SuppressWarnings("unused")
+    public Object copyInParallel (final String sql,
+                                  final Iterator<List<Object>> rows,
+                                  final ExecuteParams executeParams,
+                                  final int workerCount,
+                                  final int chunkSize,
+                                  final boolean isAtomic) {
+        return new CopyParallel(this, sql, executeParams, workerCount, isAtomic)
+                .copyInRows(rows, chunkSize);
+    }
+
+    @SuppressWarnings("unused")
+    public Object copyInParallel (final String sql,
+                                  final IReduceInit rows,
+                                  final ExecuteParams executeParams,
+                                  final int workerCount,
+                                  final int chunkSize,
+                                  final boolean isAtomic) {
+        return new CopyParallel(this, sql, executeParams, workerCount, isAtomic)
+                .copyInReducible(rows, chunkSize);
+    }
+
+    @SuppressWarnings("unused")
+    public Object copyInParallel (final String sql,
+                                  final InputStream inputStream,
+                                  final ExecuteParams executeParams,
+                                  final int workerCount,
+                                  final int chunkSize,
+                                  final boolean isAtomic) {
+        return new CopyParallel(this, sql, executeParams, workerCount, isAtomic)
+                .copyInStream(inputStream, chunkSize);
+    }
+
     public void close () {
         try (TryLock ignored = lock.get()) {
             isClosed = true;
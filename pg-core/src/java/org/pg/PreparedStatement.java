@@ -1,5 +1,6 @@
 package org.pg;
 
+import org.pg.enums.Format;
 import org.pg.msg.server.ParameterDescription;
 import org.pg.msg.client.Parse;
 import org.pg.msg.server.RowDescription;
@@ -9,9 +10,34 @@ import java.util.Arrays;
 public record PreparedStatement (
         Parse parse,
         ParameterDescription parameterDescription,
-        RowDescription rowDescription
+        RowDescription rowDescription,
+        RowDescription rowDescriptionBin,
+        KeyCache keyCache
 ) {
 
+    public PreparedStatement(final Parse parse,
+                             final ParameterDescription parameterDescription,
+                             final RowDescription rowDescription) {
+        this(parse,
+             parameterDescription,
+             rowDescription,
+             rowDescription == null ? null : rowDescription.withFormat(Format.BIN),
+             new KeyCache()
+        );
+    }
+
+    /*
+    The row description of the statement's result for the given
+    column format, so there is no need to describe a portal
+    on every execution. Null when the statement returns no rows.
+     */
+    public RowDescription rowDescription(final Format format) {
+        return switch (format) {
+            case TXT -> rowDescription;
+            case BIN -> rowDescriptionBin;
+        };
+    }
+
     @Override
     public String toString() {
         return String.format(
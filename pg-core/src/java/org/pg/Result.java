@@ -5,6 +5,7 @@ import clojure.lang.PersistentHashMap;
 import org.pg.auth.ScramSha256;
 import org.pg.clojure.KW;
 import org.pg.clojure.RowMap;
+import org.pg.codec.Interner;
 import org.pg.error.PGError;
 import org.pg.error.PGErrorResponse;
 import org.pg.msg.server.*;
@@ -24,6 +25,9 @@ public final class Result {
          private CommandComplete commandComplete;
          private ParameterDescription parameterDescription;
          private Object[] keys;
+         private Interner[] interners;
+         private boolean isCopyOutRows;
+         private CopyTarget copyTarget;
          private Object acc;
 
          private boolean isComplete() {
@@ -32,7 +36,7 @@ public final class Result {
 
          public Object toResult(final ExecuteParams executeParams) {
 
-             if (rowDescription != null) {
+             if (rowDescription != null || isCopyOutRows) {
                  return executeParams.reducer().invoke(acc);
              }
 
@@ -58,10 +62,19 @@ public final class Result {
                          KW.selected,
                          Integer.parseInt(parts[1])
                  );
-                 case "COPY" -> PersistentHashMap.create(
-                         KW.copied,
-                         Integer.parseInt(parts[1])
-                 );
+                 case "COPY" -> copyTarget == null
+                         ? PersistentHashMap.create(
+                                 KW.copied,
+                                 Integer.parseInt(parts[1])
+                         )
+                         : PersistentHashMap.create(
+                                 KW.copied,
+                                 Integer.parseInt(parts[1]),
+                                 KW.bytes,
+                                 copyTarget.getBytes(),
+                                 KW.bytes_per_sec,
+                                 copyTarget.getBytesPerSec()
+                         );
                  default -> PersistentHashMap.create(
                          KW.command,
                          command
@@ -79,6 +92,9 @@ public final class Result {
     private Throwable exception;
     public ScramSha256.Pipeline scramPipeline;
     private final String sql;
+    private final KeyCache keyCache;
+    private CopyReader copyReader;
+    private CopyTarget copyTarget;
 
     public static String[] unifyKeys (final String[] oldKeys) {
         final Map<String, Integer> map = new HashMap<>();
@@ -104,9 +120,17 @@ public final class Result {
     }
 
     public Result(final Config config, final ExecuteParams executeParams, final String sql) {
+        this(config, executeParams, sql, null);
+    }
+
+    public Result(final Config config,
+                  final ExecuteParams executeParams,
+                  final String sql,
+                  final KeyCache keyCache) {
         this.config = config;
         this.executeParams = executeParams;
         this.sql = sql;
+        this.keyCache = keyCache;
         nodes = new ArrayList<>(2);
         addNode();
     }
@@ -144,23 +168,84 @@ public final class Result {
         return current.keys;
     }
 
+    public Interner[] getCurrentInterners () {
+        return current.interners;
+    }
+
     public void handleRowDescription(final RowDescription msg) {
         current.rowDescription = msg;
         final IFn fnKeyTransform = ObjTool.coalesce(
                 config.fnKeyTransform(),
                 executeParams.fnKeyTransform()
         );
-        final String[] names = unifyKeys(msg.getColumnNames());
-        final int len = names.length;
-        final Object[] keys = new Object[len];
-        for (short i = 0; i < len; i ++) {
-            final Object newKey = fnKeyTransform.invoke(names[i]);
-            keys[i] = newKey;
+        final Object[] cachedKeys = keyCache == null ? null : keyCache.get(fnKeyTransform, msg);
+        final int len = msg.columnCount();
+        if (cachedKeys == null) {
+            final String[] names = unifyKeys(msg.getColumnNames());
+            final Object[] keys = new Object[len];
+            for (short i = 0; i < len; i ++) {
+                final Object newKey = fnKeyTransform.invoke(names[i]);
+                keys[i] = newKey;
+            }
+            current.keys = keys;
+            if (keyCache != null) {
+                keyCache.put(fnKeyTransform, msg, keys);
+            }
+        } else {
+            current.keys = cachedKeys;
         }
-        current.keys = keys;
+        final int internLimit = executeParams.internLimit();
+        if (internLimit > 0) {
+            final Interner[] interners = new Interner[len];
+            for (int i = 0; i < len; i++) {
+                interners[i] = new Interner(internLimit);
+            }
+            current.interners = interners;
+        }
+        current.acc = executeParams.reducer().invoke();
+    }
+
+    /*
+    COPY OUT rows get decoded by a reader and passed into the reducer.
+     */
+    public void handleCopyOutRows(final CopyReader copyReader) {
+        this.copyReader = copyReader;
+        current.isCopyOutRows = true;
         current.acc = executeParams.reducer().invoke();
     }
 
+    public CopyReader getCopyReader() {
+        return copyReader;
+    }
+
+    /*
+    COPY OUT data gets written into a target bypassing messages.
+     */
+    public void handleCopyOutTarget(final CopyTarget copyTarget) {
+        this.copyTarget = copyTarget;
+        current.copyTarget = copyTarget;
+    }
+
+    public CopyTarget getCopyTarget() {
+        return copyTarget;
+    }
+
+    /*
+    Flush and close the target (if any) once the server is done,
+    either normally or with an error.
+     */
+    public void closeCopyTarget() {
+        if (copyTarget == null) {
+            return;
+        }
+        copyTarget.close();
+        final Throwable e = copyTarget.getError();
+        copyTarget = null;
+        if (e != null && exception == null) {
+            setException(new PGError(e, "COPY OUT: failed to write data: %s", e.getMessage()));
+        }
+    }
+
     /*
     Return an array of oids collected across all nodes.
      */
@@ -199,6 +284,11 @@ public final class Result {
         current.acc = reducer.invoke(current.acc, rowMap);
     }
 
+    public void addCopyRow (final Object row) {
+        final IFn reducer = executeParams.reducer();
+        current.acc = reducer.invoke(current.acc, row);
+    }
+
     private void addNode() {
         current = new Node();
         nodes.add(current);
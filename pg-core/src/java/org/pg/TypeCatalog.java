@@ -0,0 +1,143 @@
+package org.pg;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pg.codec.TypeRegistry;
+import org.pg.type.PGType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+A file snapshot of user-defined types read from pg_type. A snapshot
+is valid for the same server (host, port and database, see
+Config.serverIdentity) and server version. On start, types
+get installed from the file with no queries, and the snapshot is
+checked in the background: should the checksum of the catalog
+differ, types are read again, and the file is rewritten.
+
+The file is JSON with a plain ObjectMapper: the default one turns
+maps into Clojure collections.
+ */
+public final class TypeCatalog {
+
+    private static final int FORMAT_VERSION = 3;
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final System.Logger logger = System.getLogger(TypeCatalog.class.getCanonicalName());
+
+    public record Snapshot(String serverVersion, String server, String checksum, List<PGType> types) {}
+
+    private static List<Object> typeToRow(final PGType t) {
+        return List.of(
+                t.oid(),
+                t.typname(),
+                String.valueOf(t.typtype()),
+                t.typinput(),
+                t.typoutput(),
+                t.typreceive(),
+                t.typsend(),
+                t.typarray(),
+                String.valueOf(t.typdelim()),
+                t.typelem(),
+                t.nspname(),
+                t.subtype()
+        );
+    }
+
+    private static PGType rowToType(final List<?> row) {
+        return new PGType(
+                ((Number) row.get(0)).intValue(),
+                (String) row.get(1),
+                ((String) row.get(2)).charAt(0),
+                (String) row.get(3),
+                (String) row.get(4),
+                (String) row.get(5),
+                (String) row.get(6),
+                ((Number) row.get(7)).intValue(),
+                ((String) row.get(8)).charAt(0),
+                ((Number) row.get(9)).intValue(),
+                (String) row.get(10),
+                ((Number) row.get(11)).intValue()
+        );
+    }
+
+    /*
+    Read a snapshot from a file. Return null when there is no file,
+    or it's broken, or it was made for another server.
+     */
+    public static Snapshot load(final Path path, final String serverVersion, final String server) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            final Map<?,?> data = mapper.readValue(path.toFile(), Map.class);
+            if (!Objects.equals(data.get("format"), FORMAT_VERSION)
+                    || !Objects.equals(data.get("server-version"), serverVersion)
+                    || !Objects.equals(data.get("server"), server)) {
+                return null;
+            }
+            final List<PGType> types = new ArrayList<>();
+            for (final Object row: (List<?>) data.get("types")) {
+                types.add(rowToType((List<?>) row));
+            }
+            return new Snapshot(serverVersion, server, (String) data.get("checksum"), types);
+        } catch (final Exception e) {
+            logger.log(System.Logger.Level.WARNING, "cannot read type catalog {0}: {1}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /*
+    Write a snapshot into a temp file which then replaces the target,
+    so other processes never read a half-written file.
+     */
+    public static void save(final Path path, final Snapshot snapshot) {
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("format", FORMAT_VERSION);
+        data.put("server-version", snapshot.serverVersion());
+        data.put("server", snapshot.server());
+        data.put("checksum", snapshot.checksum());
+        final List<Object> rows = new ArrayList<>(snapshot.types().size());
+        for (final PGType type: snapshot.types()) {
+            rows.add(typeToRow(type));
+        }
+        data.put("types", rows);
+        try {
+            final Path parent = path.toAbsolutePath().getParent();
+            final Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            mapper.writeValue(temp.toFile(), data);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            logger.log(System.Logger.Level.WARNING, "cannot write type catalog {0}: {1}", path, e.getMessage());
+        }
+    }
+
+    /*
+    Compare the snapshot with the server using a separate connection.
+    If the catalog has changed, replace the registry contents (so no
+    stale OIDs remain) and rewrite the file.
+     */
+    public static void verify(final Config config,
+                              final TypeRegistry registry,
+                              final Path path,
+                              final Snapshot snapshot) {
+        try (final Connection conn = Connection.connectNoTypes(config)) {
+            final String checksum = conn.readUserTypesChecksum();
+            if (checksum.equals(snapshot.checksum())) {
+                return;
+            }
+            final List<PGType> types = conn.readUserTypes();
+            registry.replaceTypes(types);
+            save(path, new Snapshot(snapshot.serverVersion(), snapshot.server(), checksum, types));
+            logger.log(System.Logger.Level.DEBUG, "type catalog {0} has been refreshed", path);
+        } catch (final Throwable e) {
+            logger.log(System.Logger.Level.WARNING, "cannot verify type catalog {0}: {1}", path, e.getMessage());
+        }
+    }
+}
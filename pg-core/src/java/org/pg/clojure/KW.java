@@ -38,6 +38,24 @@ public final class KW {
     public final static Keyword x2 = Keyword.intern("x2");
     public final static Keyword y2 = Keyword.intern("y2");
     public final static Keyword closed_QMARK = Keyword.intern("closed?");
+    public final static Keyword chunk = Keyword.intern("chunk");
+    public final static Keyword chunks = Keyword.intern("chunks");
+    public final static Keyword rows = Keyword.intern("rows");
+    public final static Keyword bytes = Keyword.intern("bytes");
+    public final static Keyword bytes_per_sec = Keyword.intern("bytes-per-sec");
+    public final static Keyword error = Keyword.intern("error");
+    public final static Keyword ok_QMARK = Keyword.intern("ok?");
+    public final static Keyword committed_QMARK = Keyword.intern("committed?");
+    public final static Keyword workers = Keyword.intern("workers");
+    public final static Keyword queue_depth = Keyword.intern("queue-depth");
+    public final static Keyword queue_depths = Keyword.intern("queue-depths");
+    public final static Keyword submitted = Keyword.intern("submitted");
+    public final static Keyword handled = Keyword.intern("handled");
+    public final static Keyword failed = Keyword.intern("failed");
+    public final static Keyword dropped = Keyword.intern("dropped");
+    public final static Keyword wait_avg_ms = Keyword.intern("wait-avg-ms");
+    public final static Keyword latency_avg_ms = Keyword.intern("latency-avg-ms");
+    public final static Keyword latency_max_ms = Keyword.intern("latency-max-ms");
     public final static Keyword points = Keyword.intern("points");
     public final static Keyword typname = Keyword.intern("typname");
     public final static Keyword typtype = Keyword.intern("typtype");
@@ -49,6 +67,7 @@ public final class KW {
     public final static Keyword typdelim = Keyword.intern("typdelim");
     public final static Keyword typelem = Keyword.intern("typelem");
     public final static Keyword nspname = Keyword.intern("nspname");
+    public final static Keyword subtype = Keyword.intern("subtype");
 
     public static void main(String... args) {
         System.out.println(inserted);
@@ -2,9 +2,12 @@ package org.pg.clojure;
 
 import clojure.lang.*;
 import org.pg.codec.CodecParams;
+import org.pg.codec.Interner;
 import org.pg.msg.server.DataRow;
 import org.pg.msg.server.RowDescription;
+import org.pg.processor.Enum;
 import org.pg.processor.IProcessor;
+import org.pg.processor.Text;
 import org.pg.util.ArrayTool;
 
 import java.nio.ByteBuffer;
@@ -20,11 +23,21 @@ public final class RowMap extends APersistentMap implements Indexed {
     private final CodecParams codecParams;
     private final Object[] parsedValues;
     private final boolean[] parsedKeys;
+    private final Interner[] interners;
 
     public RowMap(final DataRow dataRow,
                   final RowDescription rowDescription,
                   final Object[] keys,
                   final CodecParams codecParams
+    ) {
+        this(dataRow, rowDescription, keys, codecParams, null);
+    }
+
+    public RowMap(final DataRow dataRow,
+                  final RowDescription rowDescription,
+                  final Object[] keys,
+                  final CodecParams codecParams,
+                  final Interner[] interners
     ) {
         this.count = keys.length;
         this.dataRow = dataRow;
@@ -34,6 +47,7 @@ public final class RowMap extends APersistentMap implements Indexed {
         this.codecParams = codecParams;
         this.parsedValues = new Object[count];
         this.parsedKeys = new boolean[count];
+        this.interners = interners;
     }
 
     private IPersistentMap toClojureMap() {
@@ -131,11 +145,13 @@ public final class RowMap extends APersistentMap implements Indexed {
 
         final IProcessor typeProcessor = codecParams.getProcessor(oid);
 
+        // text and enum values look the same in both formats
+        if (interners != null && (typeProcessor instanceof Text || typeProcessor instanceof Enum)) {
+            return interners[i].intern(payload, offset, length, codecParams.serverCharset());
+        }
+
         return switch (col.format()) {
-            case TXT -> {
-                final String string = new String(payload, offset, length, codecParams.serverCharset());
-                yield typeProcessor.decodeTxt(string, codecParams);
-            }
+            case TXT -> typeProcessor.decodeTxt(payload, offset, length, codecParams);
             case BIN -> {
                 final ByteBuffer buf = ByteBuffer.wrap(payload, offset, length);
                 yield typeProcessor.decodeBin(buf, codecParams);
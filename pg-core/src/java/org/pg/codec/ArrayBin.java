@@ -1,64 +1,401 @@
 package org.pg.codec;
 
 import clojure.lang.ITransientCollection;
+import clojure.lang.Indexed;
 import clojure.lang.PersistentVector;
-import org.pg.clojure.CljAPI;
+import clojure.lang.RT;
+import org.pg.enums.OID;
 import org.pg.error.PGError;
 import org.pg.type.Matrix;
 import org.pg.processor.IProcessor;
 import org.pg.util.BBTool;
+import org.pg.util.TypeTool;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
 
 public final class ArrayBin {
 
-    private static void writeInt32(final OutputStream outputStream, final int value) {
-        try {
-            outputStream.write(BBTool.ofInt(value).array());
-        } catch (IOException e) {
-            throw new PGError(e, "cannot write int32 to output stream, value: %s", value);
+    /*
+    The size of the array header: dim count, the null flag,
+    the element OID, and a pair of (dim, lower bound) per each
+    dimension.
+     */
+    private static int headerSize(final int dimCount) {
+        return 4 + 4 + 4 + dimCount * 8;
+    }
+
+    private static void writeHeader(
+            final ByteBuffer bb,
+            final int[] dims,
+            final boolean hasNulls,
+            final int oidEl
+    ) {
+        bb.putInt(dims.length);
+        bb.putInt(hasNulls ? 1 : 0);
+        bb.putInt(oidEl);
+        for (int dim: dims) {
+            bb.putInt(dim);
+            bb.putInt(1);
         }
     }
 
-    public static ByteBuffer encode(
-            final Object matrix,
+    /*
+    The size of an element of fixed-length numeric type, or -1
+    if the type has no fixed size or is not a number.
+     */
+    private static int fixedSize(final int oidEl) {
+        return switch (oidEl) {
+            case OID.INT2 -> 2;
+            case OID.INT4, OID.OID, OID.FLOAT4 -> 4;
+            case OID.INT8, OID.FLOAT8 -> 8;
+            default -> -1;
+        };
+    }
+
+    private static void putLong(final ByteBuffer bb, final int oidEl, final long x) {
+        switch (oidEl) {
+            case OID.INT2 -> bb.putShort(RT.shortCast(x));
+            case OID.INT4, OID.OID -> bb.putInt(RT.intCast(x));
+            case OID.INT8 -> bb.putLong(x);
+            case OID.FLOAT4 -> bb.putFloat(x);
+            case OID.FLOAT8 -> bb.putDouble(x);
+        }
+    }
+
+    private static void putDouble(final ByteBuffer bb, final int oidEl, final double x) {
+        switch (oidEl) {
+            case OID.INT2 -> bb.putShort(RT.shortCast(x));
+            case OID.INT4, OID.OID -> bb.putInt(RT.intCast(x));
+            case OID.INT8 -> bb.putLong(RT.longCast(x));
+            case OID.FLOAT4 -> bb.putFloat(RT.floatCast(x));
+            case OID.FLOAT8 -> bb.putDouble(x);
+        }
+    }
+
+    private static ByteBuffer allocate(final int dimCount, final int count, final int elSize) {
+        return ByteBuffer.allocate(headerSize(dimCount) + count * (4 + elSize));
+    }
+
+    public static ByteBuffer encodeLongs(final long[] array, final int oidEl, final CodecParams codecParams) {
+        final int size = fixedSize(oidEl);
+        if (size == -1) {
+            final Object[] items = new Object[array.length];
+            for (int i = 0; i < array.length; i++) {
+                items[i] = array[i];
+            }
+            return encodeObjects(items, oidEl, codecParams);
+        }
+        final ByteBuffer bb = allocate(1, array.length, size);
+        writeHeader(bb, new int[] {array.length}, false, oidEl);
+        for (long x: array) {
+            bb.putInt(size);
+            putLong(bb, oidEl, x);
+        }
+        return bb;
+    }
+
+    public static ByteBuffer encodeInts(final int[] array, final int oidEl, final CodecParams codecParams) {
+        final int size = fixedSize(oidEl);
+        if (size == -1) {
+            final Object[] items = new Object[array.length];
+            for (int i = 0; i < array.length; i++) {
+                items[i] = array[i];
+            }
+            return encodeObjects(items, oidEl, codecParams);
+        }
+        final ByteBuffer bb = allocate(1, array.length, size);
+        writeHeader(bb, new int[] {array.length}, false, oidEl);
+        for (int x: array) {
+            bb.putInt(size);
+            putLong(bb, oidEl, x);
+        }
+        return bb;
+    }
+
+    public static ByteBuffer encodeDoubles(final double[] array, final int oidEl, final CodecParams codecParams) {
+        final int size = fixedSize(oidEl);
+        if (size == -1) {
+            final Object[] items = new Object[array.length];
+            for (int i = 0; i < array.length; i++) {
+                items[i] = array[i];
+            }
+            return encodeObjects(items, oidEl, codecParams);
+        }
+        final ByteBuffer bb = allocate(1, array.length, size);
+        writeHeader(bb, new int[] {array.length}, false, oidEl);
+        for (double x: array) {
+            bb.putInt(size);
+            putDouble(bb, oidEl, x);
+        }
+        return bb;
+    }
+
+    public static ByteBuffer encodeFloats(final float[] array, final int oidEl, final CodecParams codecParams) {
+        final int size = fixedSize(oidEl);
+        if (size == -1) {
+            final Object[] items = new Object[array.length];
+            for (int i = 0; i < array.length; i++) {
+                items[i] = array[i];
+            }
+            return encodeObjects(items, oidEl, codecParams);
+        }
+        final ByteBuffer bb = allocate(1, array.length, size);
+        writeHeader(bb, new int[] {array.length}, false, oidEl);
+        for (float x: array) {
+            bb.putInt(size);
+            putDouble(bb, oidEl, x);
+        }
+        return bb;
+    }
+
+    public static ByteBuffer encodeUUIDs(final UUID[] array, final int oidEl, final CodecParams codecParams) {
+        if (oidEl != OID.UUID) {
+            return encodeObjects(array, oidEl, codecParams);
+        }
+        boolean hasNulls = false;
+        int nullCount = 0;
+        for (UUID x: array) {
+            if (x == null) {
+                hasNulls = true;
+                nullCount++;
+            }
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(
+                headerSize(1) + array.length * 4 + (array.length - nullCount) * 16
+        );
+        writeHeader(bb, new int[] {array.length}, hasNulls, oidEl);
+        for (UUID x: array) {
+            if (x == null) {
+                bb.putInt(-1);
+            } else {
+                bb.putInt(16);
+                bb.putLong(x.getMostSignificantBits());
+                bb.putLong(x.getLeastSignificantBits());
+            }
+        }
+        return bb;
+    }
+
+    /*
+    A plain Java array of objects, e.g. String[]. Each element
+    is encoded with the element processor.
+     */
+    public static ByteBuffer encodeObjects(final Object[] array, final int oidEl, final CodecParams codecParams) {
+        return encodeElements(new int[] {array.length}, array, oidEl, codecParams);
+    }
+
+    /*
+    Walk a (possibly nested) indexed collection and put its leaves
+    into a flat array. Missing elements become nulls.
+     */
+    private static int flatten(
+            final Object node,
+            final int[] dims,
+            final int depth,
+            final Object[] elements,
+            int offset
+    ) {
+        final int dim = dims[depth];
+        final boolean isLeaf = depth == dims.length - 1;
+        final Indexed indexed = node instanceof Indexed i ? i : null;
+        Object item;
+        for (int i = 0; i < dim; i++) {
+            item = indexed == null ? null : indexed.nth(i, null);
+            if (isLeaf) {
+                elements[offset++] = item;
+            } else {
+                offset = flatten(item, dims, depth + 1, elements, offset);
+            }
+        }
+        return offset;
+    }
+
+    public static ByteBuffer encodeIndexed(final Indexed matrix, final int oidEl, final CodecParams codecParams) {
+        final int[] dims = Matrix.getDims(matrix);
+        final long totalCount = Matrix.getTotalCount(dims);
+        if (totalCount > Integer.MAX_VALUE) {
+            throw new PGError("array is too large, dims: %s", Arrays.toString(dims));
+        }
+        final Object[] elements = new Object[(int) totalCount];
+        if (totalCount > 0) {
+            flatten(matrix, dims, 0, elements, 0);
+        }
+        return encodeElements(dims, elements, oidEl, codecParams);
+    }
+
+    private static ByteBuffer encodeElements(
+            final int[] dims,
+            final Object[] elements,
             final int oidEl,
             final CodecParams codecParams
     ) {
         final IProcessor processor = codecParams.getProcessor(oidEl);
-        final int[] dims = Matrix.getDims(matrix);
-        final int dimCount = dims.length;
-        final int hasNulls = 1;
+        final int count = elements.length;
+        final byte[][] encoded = new byte[count][];
+        boolean hasNulls = false;
+        int totalSize = headerSize(dims.length);
+        Object val;
+        byte[] ba;
+        for (int i = 0; i < count; i++) {
+            val = elements[i];
+            if (val == null) {
+                hasNulls = true;
+                totalSize += 4;
+            } else {
+                ba = processor.encodeBin(val, codecParams).array();
+                encoded[i] = ba;
+                totalSize += 4 + ba.length;
+            }
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(totalSize);
+        writeHeader(bb, dims, hasNulls, oidEl);
+        for (byte[] item: encoded) {
+            if (item == null) {
+                bb.putInt(-1);
+            } else {
+                bb.putInt(item.length);
+                bb.put(item);
+            }
+        }
+        return bb;
+    }
 
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    public static boolean isEncodable(final Object x) {
+        return x instanceof Indexed
+                || x instanceof long[]
+                || x instanceof int[]
+                || x instanceof double[]
+                || x instanceof float[]
+                || x instanceof Object[];
+    }
 
-        writeInt32(out, dimCount);
-        writeInt32(out, hasNulls);
-        writeInt32(out, oidEl);
+    public static ByteBuffer encode(
+            final Object x,
+            final int oidEl,
+            final CodecParams codecParams
+    ) {
+        if (x instanceof long[] la) {
+            return encodeLongs(la, oidEl, codecParams);
+        } else if (x instanceof int[] ia) {
+            return encodeInts(ia, oidEl, codecParams);
+        } else if (x instanceof double[] da) {
+            return encodeDoubles(da, oidEl, codecParams);
+        } else if (x instanceof float[] fa) {
+            return encodeFloats(fa, oidEl, codecParams);
+        } else if (x instanceof UUID[] ua) {
+            return encodeUUIDs(ua, oidEl, codecParams);
+        } else if (x instanceof Object[] oa) {
+            return encodeObjects(oa, oidEl, codecParams);
+        } else if (x instanceof Indexed i) {
+            return encodeIndexed(i, oidEl, codecParams);
+        } else {
+            throw new PGError("cannot binary-encode an array, oid: %s, %s", oidEl, TypeTool.repr(x));
+        }
+    }
 
-        for (int dim: dims) {
-            writeInt32(out, dim);
-            writeInt32(out, 1);
+    /*
+    Read a one-dimensional array of fixed-size numbers with no nulls
+    into a primitive Java array. Each element is prefixed with its
+    length, so the values are read by absolute offsets rather than
+    one by one through a processor.
+     */
+    private static Object decodePrimitive(
+            final ByteBuffer buf,
+            final int elOid,
+            final int count
+    ) {
+        final int size = fixedSize(elOid);
+        final int stride = 4 + size;
+        final int start = buf.position();
+        final int end = start + count * stride;
+        if (end > buf.limit()) {
+            throw new PGError("array payload is too short, oid: %s, count: %s", elOid, count);
+        }
+        for (int pos = start; pos < end; pos += stride) {
+            if (buf.getInt(pos) != size) {
+                throw new PGError("wrong array element size, oid: %s, size: %s", elOid, buf.getInt(pos));
+            }
         }
+        final Object result = switch (elOid) {
+            case OID.INT2 -> {
+                final short[] array = new short[count];
+                for (int i = 0; i < count; i++) {
+                    array[i] = buf.getShort(start + i * stride + 4);
+                }
+                yield array;
+            }
+            case OID.INT4, OID.OID -> {
+                final int[] array = new int[count];
+                for (int i = 0; i < count; i++) {
+                    array[i] = buf.getInt(start + i * stride + 4);
+                }
+                yield array;
+            }
+            case OID.INT8 -> {
+                final long[] array = new long[count];
+                for (int i = 0; i < count; i++) {
+                    array[i] = buf.getLong(start + i * stride + 4);
+                }
+                yield array;
+            }
+            case OID.FLOAT4 -> {
+                final float[] array = new float[count];
+                for (int i = 0; i < count; i++) {
+                    array[i] = buf.getFloat(start + i * stride + 4);
+                }
+                yield array;
+            }
+            case OID.FLOAT8 -> {
+                final double[] array = new double[count];
+                for (int i = 0; i < count; i++) {
+                    array[i] = buf.getDouble(start + i * stride + 4);
+                }
+                yield array;
+            }
+            default -> throw new PGError("not a primitive array element, oid: %s", elOid);
+        };
+        buf.position(end);
+        return result;
+    }
 
-        final long totalCount = Matrix.getTotalCount(dims);
-        final int[] path = Matrix.initPath(dimCount);
+    private static Object decodeElement(
+            final ByteBuffer buf,
+            final IProcessor processor,
+            final CodecParams codecParams
+    ) {
+        final int len = buf.getInt();
+        if (len == -1) {
+            return null;
+        }
+        final ByteBuffer bufEl = buf.slice();
+        bufEl.limit(len);
+        BBTool.skip(buf, len);
+        return processor.decodeBin(bufEl, codecParams);
+    }
 
-        for (int i = 0; i < totalCount; i++) {
-            Matrix.incPath(dims, path);
-            Object val = CljAPI.getIn.invoke(matrix, path);
-            if (val == null) {
-                writeInt32(out, -1);
+    /*
+    Build a (possibly nested) vector level by level using transients.
+     */
+    private static Object decodeLevel(
+            final ByteBuffer buf,
+            final int[] dims,
+            final int depth,
+            final IProcessor processor,
+            final CodecParams codecParams
+    ) {
+        final int dim = dims[depth];
+        final boolean isLeaf = depth == dims.length - 1;
+        ITransientCollection result = PersistentVector.EMPTY.asTransient();
+        for (int i = 0; i < dim; i++) {
+            if (isLeaf) {
+                result = result.conj(decodeElement(buf, processor, codecParams));
             } else {
-                byte[] ba = processor.encodeBin(val, codecParams).array();
-                writeInt32(out, ba.length);
-                out.writeBytes(ba);
+                result = result.conj(decodeLevel(buf, dims, depth + 1, processor, codecParams));
             }
         }
-        return ByteBuffer.wrap(out.toByteArray());
+        return result.persistent();
     }
 
     public static Object decode(
@@ -66,53 +403,29 @@ public final class ArrayBin {
             final CodecParams codecParams
     ) {
         final int dimCount = buf.getInt();
-        buf.getInt(); // has nulls (1 or 0)
+        final boolean hasNulls = buf.getInt() != 0;
         final int elOid = buf.getInt();
-        final IProcessor processor = codecParams.getProcessor(elOid);
         final int[] dims = new int[dimCount];
         for (int i = 0; i < dimCount; i++) {
             dims[i] = buf.getInt();
             buf.getInt(); // skip 4 bytes
         }
 
-        int len;
-        Object val;
+        final boolean isPrimitive = codecParams.primitiveArrays()
+                && dimCount <= 1
+                && !hasNulls
+                && fixedSize(elOid) != -1;
 
-        // plain array
-        if (dims.length == 1) {
-            ITransientCollection result = PersistentVector.EMPTY.asTransient();
-            for (int i = 0; i < dims[0]; i++) {
-                len = buf.getInt();
-                if (len == -1) {
-                    result = result.conj(null);
-                } else {
-                    final ByteBuffer bufEl = buf.slice();
-                    bufEl.limit(len);
-                    BBTool.skip(buf, len);
-                    val = processor.decodeBin(bufEl, codecParams);
-                    result = result.conj(val);
-                }
-            }
-            return result.persistent();
+        if (isPrimitive) {
+            return decodePrimitive(buf, elOid, dimCount == 0 ? 0 : dims[0]);
         }
 
-        // multi-dim array
-        final int[] path = Matrix.initPath(dimCount);
-        final long totalCount = Matrix.getTotalCount(dims);
-        Object matrix = Matrix.create(dims);
-        for (int i = 0; i < totalCount; i++) {
-            Matrix.incPath(dims, path);
-            len = buf.getInt();
-            if (len == -1) {
-                matrix = Matrix.assocIn(matrix, path, null);
-            } else {
-                final ByteBuffer bufEl = buf.slice();
-                bufEl.limit(len);
-                BBTool.skip(buf, len);
-                val = processor.decodeBin(bufEl, codecParams);
-                matrix = Matrix.assocIn(matrix, path, val);
-            }
+        // an empty array has no dimensions
+        if (dimCount == 0) {
+            return PersistentVector.EMPTY;
         }
-        return matrix;
+
+        final IProcessor processor = codecParams.getProcessor(elOid);
+        return decodeLevel(buf, dims, 0, processor, codecParams);
     }
 }
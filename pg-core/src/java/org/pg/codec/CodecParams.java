@@ -2,17 +2,14 @@ package org.pg.codec;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.pg.Const;
+import org.pg.enums.VectorMode;
 import org.pg.json.JSON;
-import org.pg.processor.Array;
 import org.pg.processor.IProcessor;
 import org.pg.processor.Processors;
-import org.pg.processor.Text;
 import org.pg.type.PGType;
 
 import java.nio.charset.Charset;
 import java.time.ZoneId;
-import java.util.HashMap;
-import java.util.Map;
 
 /*
 A storage of data encoding and decoding parameters, e.g. the current
@@ -27,8 +24,11 @@ public class CodecParams {
     private String dateStyle = Const.dateStyle;
     private boolean integerDatetime = Const.integerDatetime;
     private ObjectMapper objectMapper = JSON.defaultMapper;
-    private final Map<Integer, IProcessor> oidMap = new HashMap<>();
-    private final Map<String, Integer> oidCache = new HashMap<>();
+    private boolean primitiveArrays = Const.PRIMITIVE_ARRAYS;
+    private VectorMode vectorMode = Const.VECTOR_MODE;
+    private boolean rawJSON = Const.RAW_JSON;
+    private int moneyScale = Const.MONEY_SCALE;
+    private TypeRegistry typeRegistry = TypeRegistry.create();
 
     @Override
     public String toString() {
@@ -36,14 +36,19 @@ public class CodecParams {
                 "CodecParams[clientCharset=%s, " +
                         "serverCharset=%s, timeZone=%s, dateStyle=%s, " +
                         "integerDatetime=%s, objectMapper=%s, " +
-                        "oidMap=%s]",
+                        "primitiveArrays=%s, vectorMode=%s, rawJSON=%s, moneyScale=%s, " +
+                        "typeRegistry=%s]",
                 clientCharset,
                 serverCharset,
                 timeZone,
                 dateStyle,
                 integerDatetime,
                 objectMapper,
-                oidMap
+                primitiveArrays,
+                vectorMode,
+                rawJSON,
+                moneyScale,
+                typeRegistry
         );
     }
 
@@ -114,47 +119,77 @@ public class CodecParams {
         return this;
     }
 
+    public boolean primitiveArrays() {
+        return primitiveArrays;
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public CodecParams primitiveArrays(final boolean primitiveArrays) {
+        this.primitiveArrays = primitiveArrays;
+        return this;
+    }
+
+    public VectorMode vectorMode() {
+        return vectorMode;
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public CodecParams vectorMode(final VectorMode vectorMode) {
+        this.vectorMode = vectorMode;
+        return this;
+    }
+
+    public boolean rawJSON() {
+        return rawJSON;
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public CodecParams rawJSON(final boolean rawJSON) {
+        this.rawJSON = rawJSON;
+        return this;
+    }
+
+    public int moneyScale() {
+        return moneyScale;
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public CodecParams moneyScale(final int moneyScale) {
+        this.moneyScale = moneyScale;
+        return this;
+    }
+
+    @SuppressWarnings("unused")
+    public TypeRegistry typeRegistry() {
+        return typeRegistry;
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public CodecParams typeRegistry(final TypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+        return this;
+    }
+
+    /*
+    For a pooled connection, the registry is shared by all the pools
+    of the same server: they all have to read types again.
+     */
     @SuppressWarnings("unused")
     public void clearTypeCache() {
-        oidMap.clear();
-        oidCache.clear();
+        typeRegistry.clear();
     }
 
     public Integer getOidByType(final String fullType) {
-        return oidCache.get(fullType);
+        return typeRegistry.getOidByType(fullType);
     }
 
     public void setPgType(final PGType pgType) {
-        oidCache.put(pgType.fullName(), pgType.oid());
-
-        final int oid = pgType.oid();
-        final String signature = pgType.signature();
-
-        if (pgType.isElem()) {
-            final int oidArr = pgType.typarray();
-            oidMap.put(oidArr, new Array(oidArr, pgType.oid()));
-        }
-
-        if (pgType.isEnum()) {
-            oidMap.put(oid, Processors.defaultEnum);
-        } else if (signature.equals(Const.TYPE_SIG_VECTOR)) {
-            oidMap.put(oid, Processors.vector);
-        } else if (signature.equals(Const.TYPE_SIG_SPARSEVEC)) {
-            oidMap.put(oid, Processors.sparsevec);
-        } else if (signature.equals(Const.TYPE_SIG_HSTORE)) {
-            oidMap.put(oid, Processors.hstore);
-        } else if (signature.equals(Const.TYPE_SEG_CITEXT)) {
-            oidMap.put(oid, new Text(oid));
-        } else if (pgType.isArray()) {
-            oidMap.put(oid, new Array(oid, pgType.typelem()));
-        } else {
-            oidMap.put(oid, Processors.unsupported);
-        }
+        typeRegistry.setPgType(pgType);
     }
 
     @SuppressWarnings("unused")
     public boolean isKnownOid(final int oid) {
-        return Processors.isKnownOid(oid) || oidMap.containsKey(oid);
+        return Processors.isKnownOid(oid) || typeRegistry.isKnownOid(oid);
     }
 
     public IProcessor getProcessor(final int oid) {
@@ -164,7 +199,7 @@ public class CodecParams {
             return processor;
         }
         // local session overrides
-        processor = oidMap.get(oid);
+        processor = typeRegistry.getProcessor(oid);
         if (processor != null) {
             return processor;
         }
@@ -1,5 +1,6 @@
 package org.pg.codec;
 
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
@@ -62,27 +63,328 @@ public final class DateTimeTxt {
 
     }
 
+    //
+    // Fast parsing
+    //
+    // The methods below handle the ISO DateStyle output byte by byte,
+    // e.g. 2024-01-31 23:59:59.123456+03:30. They return null when
+    // the input doesn't match (BC dates, years > 9999, infinity,
+    // other DateStyles); then the formatters above take over.
+    //
+
+    private static final int NO_OFFSET = Integer.MIN_VALUE;
+
+    private static int digits(final byte[] buf, final int offset, final int count) {
+        int result = 0;
+        int b;
+        for (int i = offset; i < offset + count; i++) {
+            b = buf[i] - '0';
+            if (b < 0 || b > 9) {
+                return -1;
+            }
+            result = result * 10 + b;
+        }
+        return result;
+    }
+
+    // HH:mm:ss[.SSSSSSSSS], returns the index right after it or -1
+    private static int timeEnd(final byte[] buf, final int offset, final int end) {
+        if (offset + 8 > end || buf[offset + 2] != ':' || buf[offset + 5] != ':') {
+            return -1;
+        }
+        int i = offset + 8;
+        if (i < end && buf[i] == '.') {
+            i++;
+            while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static LocalTime parseTime(final byte[] buf, final int offset, final int end) {
+        final int hour = digits(buf, offset, 2);
+        final int minute = digits(buf, offset + 3, 2);
+        final int second = digits(buf, offset + 6, 2);
+        if (hour < 0 || minute < 0 || second < 0) {
+            return null;
+        }
+        // Postgres emits 24:00:00 for time and timetz:
+        // leave it to the formatter
+        if (hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+        int nanos = 0;
+        final int fracLen = end - offset - 9;
+        if (fracLen > 9) {
+            return null;
+        }
+        if (fracLen > 0) {
+            nanos = digits(buf, offset + 9, fracLen);
+            for (int i = fracLen; i < 9; i++) {
+                nanos *= 10;
+            }
+        }
+        return LocalTime.of(hour, minute, second, nanos);
+    }
+
+    // +HH[:mm[:ss]] or Z, returns the total seconds or NO_OFFSET
+    private static int parseOffset(final byte[] buf, final int offset, final int end) {
+        final int len = end - offset;
+        if (len == 1 && buf[offset] == 'Z') {
+            return 0;
+        }
+        if (!(len == 3 || len == 6 || len == 9)) {
+            return NO_OFFSET;
+        }
+        final int sign = switch (buf[offset]) {
+            case '+' -> 1;
+            case '-' -> -1;
+            default -> 0;
+        };
+        final int hours = digits(buf, offset + 1, 2);
+        int minutes = 0;
+        int seconds = 0;
+        if (len >= 6) {
+            minutes = buf[offset + 3] == ':' ? digits(buf, offset + 4, 2) : -1;
+        }
+        if (len == 9) {
+            seconds = buf[offset + 6] == ':' ? digits(buf, offset + 7, 2) : -1;
+        }
+        if (sign == 0 || hours < 0 || minutes < 0 || seconds < 0) {
+            return NO_OFFSET;
+        }
+        return sign * (hours * 3600 + minutes * 60 + seconds);
+    }
+
+    private static LocalDate parseDate(final byte[] buf, final int offset) {
+        if (buf[offset + 4] != '-' || buf[offset + 7] != '-') {
+            return null;
+        }
+        final int year = digits(buf, offset, 4);
+        final int month = digits(buf, offset + 5, 2);
+        final int day = digits(buf, offset + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static LocalDate fastDATE(final byte[] buf, final int offset, final int len) {
+        if (len != 10) {
+            return null;
+        }
+        return parseDate(buf, offset);
+    }
+
+    private static LocalTime fastTIME(final byte[] buf, final int offset, final int len) {
+        final int end = offset + len;
+        if (timeEnd(buf, offset, end) != end) {
+            return null;
+        }
+        return parseTime(buf, offset, end);
+    }
+
+    private static OffsetTime fastTIMETZ(final byte[] buf, final int offset, final int len) {
+        final int end = offset + len;
+        final int tEnd = timeEnd(buf, offset, end);
+        if (tEnd == -1) {
+            return null;
+        }
+        final int seconds = parseOffset(buf, tEnd, end);
+        if (seconds == NO_OFFSET) {
+            return null;
+        }
+        final LocalTime time = parseTime(buf, offset, tEnd);
+        if (time == null) {
+            return null;
+        }
+        return OffsetTime.of(time, ZoneOffset.ofTotalSeconds(seconds));
+    }
+
+    private static LocalDateTime fastTIMESTAMPEnd(final byte[] buf, final int offset, final int end) {
+        if (end - offset < 19 || buf[offset + 10] != ' ') {
+            return null;
+        }
+        final LocalDate date = parseDate(buf, offset);
+        final LocalTime time = parseTime(buf, offset + 11, end);
+        if (date == null || time == null) {
+            return null;
+        }
+        return LocalDateTime.of(date, time);
+    }
+
+    private static LocalDateTime fastTIMESTAMP(final byte[] buf, final int offset, final int len) {
+        final int end = offset + len;
+        if (len < 19 || timeEnd(buf, offset + 11, end) != end) {
+            return null;
+        }
+        return fastTIMESTAMPEnd(buf, offset, end);
+    }
+
+    private static OffsetDateTime fastTIMESTAMPTZ(final byte[] buf, final int offset, final int len) {
+        final int end = offset + len;
+        if (len < 22) {
+            return null;
+        }
+        final int tEnd = timeEnd(buf, offset + 11, end);
+        if (tEnd == -1) {
+            return null;
+        }
+        final int seconds = parseOffset(buf, tEnd, end);
+        if (seconds == NO_OFFSET) {
+            return null;
+        }
+        final LocalDateTime ldt = fastTIMESTAMPEnd(buf, offset, tEnd);
+        if (ldt == null) {
+            return null;
+        }
+        return OffsetDateTime.of(ldt, ZoneOffset.ofTotalSeconds(seconds));
+    }
+
+    private static byte[] asciiBytes(final String input) {
+        return input.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String asciiString(final byte[] buf, final int offset, final int len) {
+        return new String(buf, offset, len, StandardCharsets.ISO_8859_1);
+    }
+
     //
     // Decoding
     //
+    public static OffsetDateTime decodeTIMESTAMPTZ (final byte[] buf, final int offset, final int len) {
+        final OffsetDateTime result = fastTIMESTAMPTZ(buf, offset, len);
+        return result == null
+                ? OffsetDateTime.parse(asciiString(buf, offset, len), frmt_decode_timestamptz)
+                : result;
+    }
+
+    public static LocalDateTime decodeTIMESTAMP (final byte[] buf, final int offset, final int len) {
+        final LocalDateTime result = fastTIMESTAMP(buf, offset, len);
+        return result == null
+                ? LocalDateTime.parse(asciiString(buf, offset, len), frmt_decode_timestamp)
+                : result;
+    }
+
+    public static LocalDate decodeDATE (final byte[] buf, final int offset, final int len) {
+        final LocalDate result = fastDATE(buf, offset, len);
+        return result == null
+                ? LocalDate.parse(asciiString(buf, offset, len), frmt_decode_date)
+                : result;
+    }
+
+    public static OffsetTime decodeTIMETZ (final byte[] buf, final int offset, final int len) {
+        final OffsetTime result = fastTIMETZ(buf, offset, len);
+        return result == null
+                ? OffsetTime.parse(asciiString(buf, offset, len), frmt_decode_timetz)
+                : result;
+    }
+
+    public static LocalTime decodeTIME (final byte[] buf, final int offset, final int len) {
+        final LocalTime result = fastTIME(buf, offset, len);
+        return result == null
+                ? LocalTime.parse(asciiString(buf, offset, len), frmt_decode_time)
+                : result;
+    }
+
     public static OffsetDateTime decodeTIMESTAMPTZ (final String input) {
-        return OffsetDateTime.parse(input, frmt_decode_timestamptz);
+        final byte[] buf = asciiBytes(input);
+        return decodeTIMESTAMPTZ(buf, 0, buf.length);
     }
 
     public static LocalDateTime decodeTIMESTAMP (final String input) {
-        return LocalDateTime.parse(input, frmt_decode_timestamp);
+        final byte[] buf = asciiBytes(input);
+        return decodeTIMESTAMP(buf, 0, buf.length);
     }
 
     public static LocalDate decodeDATE (final String input) {
-        return LocalDate.parse(input, frmt_decode_date);
+        final byte[] buf = asciiBytes(input);
+        return decodeDATE(buf, 0, buf.length);
     }
 
     public static OffsetTime decodeTIMETZ (final String input) {
-        return OffsetTime.parse(input, frmt_decode_timetz);
+        final byte[] buf = asciiBytes(input);
+        return decodeTIMETZ(buf, 0, buf.length);
     }
 
     public static LocalTime decodeTIME (final String input) {
-        return LocalTime.parse(input, frmt_decode_time);
+        final byte[] buf = asciiBytes(input);
+        return decodeTIME(buf, 0, buf.length);
+    }
+
+    //
+    // Fast encoding
+    //
+
+    private static void pad(final StringBuilder sb, final int value, final int width) {
+        int limit = 10;
+        for (int i = 1; i < width; i++) {
+            if (value < limit) {
+                sb.append('0');
+            }
+            limit *= 10;
+        }
+        sb.append(value);
+    }
+
+    private static void appendDate(final StringBuilder sb, final LocalDate date) {
+        pad(sb, date.getYear(), 4);
+        sb.append('-');
+        pad(sb, date.getMonthValue(), 2);
+        sb.append('-');
+        pad(sb, date.getDayOfMonth(), 2);
+    }
+
+    private static void appendTime(final StringBuilder sb, final LocalTime time) {
+        pad(sb, time.getHour(), 2);
+        sb.append(':');
+        pad(sb, time.getMinute(), 2);
+        sb.append(':');
+        pad(sb, time.getSecond(), 2);
+        sb.append('.');
+        pad(sb, time.getNano() / 1000, 6);
+    }
+
+    // the same as the "x" pattern: +HH or +HHmm
+    private static void appendOffset(final StringBuilder sb, final ZoneOffset offset) {
+        final int total = offset.getTotalSeconds();
+        final int abs = Math.abs(total);
+        sb.append(total < 0 ? '-' : '+');
+        pad(sb, abs / 3600, 2);
+        final int minutes = abs / 60 % 60;
+        if (minutes != 0) {
+            pad(sb, minutes, 2);
+        }
+    }
+
+    private static boolean isFastYear(final LocalDate date) {
+        final int year = date.getYear();
+        return year >= 1 && year <= 9999;
+    }
+
+    // Instant, OffsetDateTime, ZonedDateTime, etc -> UTC
+    private static LocalDateTime toUTC(final Temporal t) {
+        if (t.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return LocalDateTime.ofEpochSecond(
+                    t.getLong(ChronoField.INSTANT_SECONDS),
+                    t.get(ChronoField.NANO_OF_SECOND),
+                    ZoneOffset.UTC
+            );
+        } else {
+            return null;
+        }
+    }
+
+    private static String encodeLocalDateTime(final LocalDateTime ldt, final boolean utcSuffix) {
+        final StringBuilder sb = new StringBuilder(32);
+        appendDate(sb, ldt.toLocalDate());
+        sb.append(' ');
+        appendTime(sb, ldt.toLocalTime());
+        if (utcSuffix) {
+            sb.append("+00");
+        }
+        return sb.toString();
     }
 
     //
@@ -91,22 +393,46 @@ public final class DateTimeTxt {
 
     // Temporal
     public static String encodeTIMESTAMPTZ (final Temporal t) {
+        final LocalDateTime ldt = toUTC(t);
+        if (ldt != null && isFastYear(ldt.toLocalDate())) {
+            return encodeLocalDateTime(ldt, true);
+        }
         return frmt_encode_timestamptz.format(t);
     }
 
     public static String encodeTIMESTAMP (final Temporal t) {
+        final LocalDateTime ldt = t instanceof LocalDateTime l ? l : toUTC(t);
+        if (ldt != null && isFastYear(ldt.toLocalDate())) {
+            return encodeLocalDateTime(ldt, false);
+        }
         return frmt_encode_timestamp.format(t);
     }
 
     public static String encodeDATE (final Temporal t) {
+        if (t instanceof LocalDate ld && isFastYear(ld)) {
+            final StringBuilder sb = new StringBuilder(10);
+            appendDate(sb, ld);
+            return sb.toString();
+        }
         return frmt_encode_date.format(t);
     }
 
     public static String encodeTIMETZ (final Temporal t) {
+        if (t instanceof OffsetTime ot) {
+            final StringBuilder sb = new StringBuilder(24);
+            appendTime(sb, ot.toLocalTime());
+            appendOffset(sb, ot.getOffset());
+            return sb.toString();
+        }
         return frmt_encode_timetz.format(t);
     }
 
     public static String encodeTIME (final Temporal t) {
+        if (t instanceof LocalTime lt) {
+            final StringBuilder sb = new StringBuilder(16);
+            appendTime(sb, lt);
+            return sb.toString();
+        }
         return frmt_encode_time.format(t);
     }
 
@@ -0,0 +1,106 @@
+package org.pg.codec;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/*
+A small string cache for a single column of a result. It maps raw
+bytes of a value to a String so repeated values (statuses, countries,
+enums) share the same instance. Once the number of distinct values
+exceeds the limit, the column is considered high-cardinality and the
+cache switches itself off for good.
+
+Since RowMap decodes values lazily, possibly from another thread,
+lookups are synchronized. An interner is created for each column of
+a result but only text and enum values go through it, so the table
+is allocated on the first lookup. It starts small and doubles once
+it's half full, so a large limit costs nothing for a column with
+a few distinct values.
+ */
+public final class Interner {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int limit;
+    private byte[][] keys;
+    private String[] values;
+    private int size = 0;
+    private boolean disabled = false;
+
+    public Interner(final int limit) {
+        this.limit = limit;
+    }
+
+    private void grow() {
+        final byte[][] oldKeys = keys;
+        final String[] oldValues = values;
+        keys = new byte[oldKeys.length * 2][];
+        values = new String[oldKeys.length * 2];
+        final int mask = keys.length - 1;
+        byte[] key;
+        int i;
+        for (int j = 0; j < oldKeys.length; j++) {
+            key = oldKeys[j];
+            if (key != null) {
+                i = hash(key, 0, key.length) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int hash(final byte[] buf, final int offset, final int len) {
+        int h = 1;
+        for (int i = offset; i < offset + len; i++) {
+            h = 31 * h + buf[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unused")
+    public synchronized boolean isDisabled() {
+        return disabled;
+    }
+
+    public String intern(final byte[] buf, final int offset, final int len, final Charset charset) {
+        synchronized (this) {
+            if (!disabled) {
+                if (keys == null) {
+                    keys = new byte[INITIAL_CAPACITY][];
+                    values = new String[INITIAL_CAPACITY];
+                }
+                final int mask = keys.length - 1;
+                int i = hash(buf, offset, len) & mask;
+                byte[] key;
+                while ((key = keys[i]) != null) {
+                    if (Arrays.equals(key, 0, key.length, buf, offset, offset + len)) {
+                        return values[i];
+                    }
+                    i = (i + 1) & mask;
+                }
+                if (size < limit) {
+                    final String value = new String(buf, offset, len, charset);
+                    keys[i] = Arrays.copyOfRange(buf, offset, offset + len);
+                    values[i] = value;
+                    size++;
+                    if (size * 2 > keys.length) {
+                        grow();
+                    }
+                    return value;
+                }
+                disabled = true;
+                keys = null;
+                values = null;
+            }
+        }
+        return new String(buf, offset, len, charset);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Interner[limit=%s, size=%s, disabled=%s]", limit, size, disabled);
+    }
+}
@@ -2,6 +2,7 @@ package org.pg.codec;
 
 import org.pg.Const;
 import org.pg.json.JSON;
+import org.pg.json.RawJSON;
 import org.pg.util.IOTool;
 
 import java.io.ByteArrayOutputStream;
@@ -13,6 +14,13 @@ public class JsonBin {
         if (x instanceof JSON.Wrapper jw) {
             return encodeJSONB(jw.value(), codecParams);
         }
+        if (x instanceof RawJSON rj) {
+            final byte[] buf = rj.bytes();
+            final ByteBuffer bb = ByteBuffer.allocate(1 + buf.length);
+            bb.put(Const.JSONB_VERSION);
+            bb.put(buf);
+            return bb;
+        }
         final ByteArrayOutputStream out = new ByteArrayOutputStream(Const.JSON_ENC_BUF_SIZE);
         out.write(Const.JSONB_VERSION);
         if (x instanceof String s) {
@@ -29,6 +37,9 @@ public class JsonBin {
         if (x instanceof JSON.Wrapper jw) {
             return encodeJSON(jw.value(), codecParams);
         }
+        if (x instanceof RawJSON rj) {
+            return ByteBuffer.wrap(rj.bytes());
+        }
         final ByteArrayOutputStream out = new ByteArrayOutputStream(Const.JSON_ENC_BUF_SIZE);
         if (x instanceof String s) {
             final byte[] buf = s.getBytes(codecParams.clientCharset());
@@ -42,10 +53,13 @@ public class JsonBin {
 
     public static Object decodeJSONB (final ByteBuffer bb, final CodecParams codecParams) {
         bb.get(); // skip version
-        return JSON.readValue(codecParams.objectMapper(), bb);
+        return decodeJSON(bb, codecParams);
     }
 
     public static Object decodeJSON (final ByteBuffer bb, final CodecParams codecParams) {
+        if (codecParams.rawJSON()) {
+            return RawJSON.ofByteBuffer(bb, codecParams.objectMapper());
+        }
         return JSON.readValue(codecParams.objectMapper(), bb);
     }
 }
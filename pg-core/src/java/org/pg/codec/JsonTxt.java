@@ -1,6 +1,7 @@
 package org.pg.codec;
 
 import org.pg.json.JSON;
+import org.pg.json.RawJSON;
 
 public class JsonTxt {
 
@@ -9,12 +10,17 @@ public class JsonTxt {
             return encodeJson(jw.value(), codecParams);
         } else if (x instanceof String s) {
             return s;
+        } else if (x instanceof RawJSON rj) {
+            return rj.toString();
         } else {
             return JSON.writeValueToString(codecParams.objectMapper(), x);
         }
     }
 
     public static Object decodeJson(final String string, final CodecParams codecParams) {
+        if (codecParams.rawJSON()) {
+            return RawJSON.ofString(string, codecParams.objectMapper());
+        }
         return JSON.readValue(codecParams.objectMapper(), string);
     }
 
@@ -3,6 +3,9 @@ package org.pg.codec;
 import org.pg.error.PGError;
 import org.pg.util.HexTool;
 
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
 public class PrimitiveTxt {
 
     public static String encodeBool(final boolean b) {
@@ -25,4 +28,188 @@ public class PrimitiveTxt {
         return HexTool.parseHex(string, 2, string.length());
     }
 
+    //
+    // Parsing ASCII text right from the DataRow bytes. When
+    // the input looks unusual, fall back to the standard
+    // String-based parsers so errors and edge cases stay the same.
+    //
+
+    private static String asciiString(final byte[] buf, final int offset, final int len) {
+        return new String(buf, offset, len, StandardCharsets.ISO_8859_1);
+    }
+
+    // returns Long.MIN_VALUE for anything but [-]digits within 18 digits
+    private static long parseSmallLong(final byte[] buf, final int offset, final int len) {
+        int i = offset;
+        final int end = offset + len;
+        boolean negative = false;
+        if (i < end && buf[i] == '-') {
+            negative = true;
+            i++;
+        }
+        final int digitCount = end - i;
+        if (digitCount < 1 || digitCount > 18) {
+            return Long.MIN_VALUE;
+        }
+        long result = 0;
+        int b;
+        for (; i < end; i++) {
+            b = buf[i] - '0';
+            if (b < 0 || b > 9) {
+                return Long.MIN_VALUE;
+            }
+            result = result * 10 + b;
+        }
+        return negative ? -result : result;
+    }
+
+    public static long decodeLong(final byte[] buf, final int offset, final int len) {
+        final long result = parseSmallLong(buf, offset, len);
+        if (result == Long.MIN_VALUE) {
+            return Long.parseLong(asciiString(buf, offset, len));
+        }
+        return result;
+    }
+
+    public static int decodeInt(final byte[] buf, final int offset, final int len) {
+        final long result = parseSmallLong(buf, offset, len);
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+            return Integer.parseInt(asciiString(buf, offset, len));
+        }
+        return (int) result;
+    }
+
+    public static short decodeShort(final byte[] buf, final int offset, final int len) {
+        final long result = parseSmallLong(buf, offset, len);
+        if (result < Short.MIN_VALUE || result > Short.MAX_VALUE) {
+            return Short.parseShort(asciiString(buf, offset, len));
+        }
+        return (short) result;
+    }
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+            1e21, 1e22
+    };
+
+    private static final long NO_DECIMAL = Long.MIN_VALUE;
+
+    /*
+    Parse [-]digits[.digits] into a signed value where the lowest
+    five bits keep the decimal scale and the rest is the mantissa.
+    Return NO_DECIMAL when there is an exponent, NaN/Infinity, a
+    negative zero or too many digits.
+     */
+    private static long parseDecimal(final byte[] buf, final int offset, final int len, final int maxDigits) {
+        int i = offset;
+        final int end = offset + len;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean negative = false;
+        if (i < end && buf[i] == '-') {
+            negative = true;
+            i++;
+        }
+        final int start = i;
+        byte b;
+        for (; i < end; i++) {
+            b = buf[i];
+            if (b == '.' && scale == -1) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (scale != -1) {
+                    scale++;
+                }
+            } else {
+                return NO_DECIMAL;
+            }
+        }
+        if (i == start || digits > maxDigits || scale == 0 || scale > 22 || (negative && mantissa == 0)) {
+            return NO_DECIMAL;
+        }
+        final long packed = (mantissa << 5) | Math.max(scale, 0);
+        return negative ? -packed : packed;
+    }
+
+    private static long mantissa(final long packed) {
+        return packed < 0 ? -(-packed >> 5) : packed >> 5;
+    }
+
+    private static int scale(final long packed) {
+        return (int) (Math.abs(packed) & 31);
+    }
+
+    /*
+    Exact when the mantissa fits into 53 bits and the power of ten
+    is exact as well (<= 1e22): both operands are precise doubles,
+    and a single division is correctly rounded.
+     */
+    public static double decodeDouble(final byte[] buf, final int offset, final int len) {
+        final long packed = parseDecimal(buf, offset, len, 15);
+        if (packed == NO_DECIMAL) {
+            return Double.parseDouble(asciiString(buf, offset, len));
+        }
+        return (double) mantissa(packed) / POW10[scale(packed)];
+    }
+
+    private static final float[] POW10F = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    // the same trick for floats: 24 bits and up to 1e10
+    public static float decodeFloat(final byte[] buf, final int offset, final int len) {
+        final long packed = parseDecimal(buf, offset, len, 7);
+        if (packed == NO_DECIMAL || scale(packed) > 10) {
+            return Float.parseFloat(asciiString(buf, offset, len));
+        }
+        return (float) mantissa(packed) / POW10F[scale(packed)];
+    }
+
+    public static boolean decodeBool(final byte[] buf, final int offset, final int len) {
+        if (len == 1) {
+            if (buf[offset] == 't') {
+                return true;
+            } else if (buf[offset] == 'f') {
+                return false;
+            }
+        }
+        return decodeBool(asciiString(buf, offset, len));
+    }
+
+
+    // canonical 8-4-4-4-12 form only
+    public static UUID decodeUUID(final byte[] buf, final int offset, final int len) {
+        if (len != 36
+                || buf[offset + 8] != '-'
+                || buf[offset + 13] != '-'
+                || buf[offset + 18] != '-'
+                || buf[offset + 23] != '-') {
+            return UUID.fromString(asciiString(buf, offset, len));
+        }
+        long high = 0;
+        long low = 0;
+        int b;
+        for (int i = 0; i < 36; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            b = Character.digit(buf[offset + i], 16);
+            if (b == -1) {
+                return UUID.fromString(asciiString(buf, offset, len));
+            }
+            if (i < 19) {
+                high = (high << 4) | b;
+            } else {
+                low = (low << 4) | b;
+            }
+        }
+        return new UUID(high, low);
+    }
+
 }
@@ -0,0 +1,169 @@
+package org.pg.codec;
+
+import clojure.lang.IPersistentVector;
+import clojure.lang.PersistentVector;
+import org.pg.error.PGError;
+import org.pg.processor.IProcessor;
+import org.pg.type.Range;
+
+/*
+Text form of ranges, e.g. [1,10) or ["2024-01-01 10:00:00+00",),
+and multiranges, e.g. {[1,3),[5,7)}. Bounds are decoded and
+encoded with the processor of the range's subtype.
+ */
+public final class RangeTxt {
+
+    private final String text;
+    private int pos = 0;
+
+    private RangeTxt(final String text) {
+        this.text = text;
+    }
+
+    private PGError error() {
+        return new PGError("wrong range string: %s", text);
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private char next() {
+        if (pos >= text.length()) {
+            throw error();
+        }
+        return text.charAt(pos++);
+    }
+
+    private char peek() {
+        if (pos >= text.length()) {
+            throw error();
+        }
+        return text.charAt(pos);
+    }
+
+    /*
+    Return null for an omitted (infinite) bound. A quoted
+    empty string is an empty value though.
+     */
+    private String readBound() {
+        final StringBuilder sb = new StringBuilder();
+        boolean isQuoted = false;
+        boolean inQuotes = false;
+        char c;
+        while (true) {
+            c = peek();
+            if (!inQuotes && (c == ',' || c == ')' || c == ']')) {
+                break;
+            }
+            pos++;
+            if (c == '\\') {
+                sb.append(next());
+            } else if (c == '"') {
+                if (inQuotes && pos < text.length() && text.charAt(pos) == '"') {
+                    sb.append('"');
+                    pos++;
+                } else {
+                    inQuotes = !inQuotes;
+                    isQuoted = true;
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.isEmpty() && !isQuoted ? null : sb.toString();
+    }
+
+    private Range readRange(final IProcessor processor, final CodecParams codecParams) {
+        skipSpaces();
+        if (text.regionMatches(true, pos, "empty", 0, 5)) {
+            pos += 5;
+            return Range.EMPTY;
+        }
+        final char open = next();
+        if (open != '[' && open != '(') {
+            throw error();
+        }
+        final String lower = readBound();
+        if (next() != ',') {
+            throw error();
+        }
+        final String upper = readBound();
+        final char close = next();
+        return Range.of(
+                lower == null ? null : processor.decodeTxt(lower, codecParams),
+                upper == null ? null : processor.decodeTxt(upper, codecParams),
+                open == '[',
+                close == ']'
+        );
+    }
+
+    public static Range decode(final String text, final IProcessor processor, final CodecParams codecParams) {
+        final RangeTxt parser = new RangeTxt(text);
+        final Range range = parser.readRange(processor, codecParams);
+        parser.skipSpaces();
+        if (parser.pos != text.length()) {
+            throw parser.error();
+        }
+        return range;
+    }
+
+    public static IPersistentVector decodeMulti(final String text,
+                                                final IProcessor processor,
+                                                final CodecParams codecParams) {
+        final RangeTxt parser = new RangeTxt(text);
+        IPersistentVector result = PersistentVector.EMPTY;
+        parser.skipSpaces();
+        if (parser.next() != '{') {
+            throw parser.error();
+        }
+        parser.skipSpaces();
+        if (parser.peek() == '}') {
+            parser.pos++;
+            return result;
+        }
+        while (true) {
+            result = result.cons(parser.readRange(processor, codecParams));
+            parser.skipSpaces();
+            final char c = parser.next();
+            if (c == '}') {
+                return result;
+            } else if (c != ',') {
+                throw parser.error();
+            }
+        }
+    }
+
+    private static String quoteBound(final String bound) {
+        final StringBuilder sb = new StringBuilder(bound.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < bound.length(); i++) {
+            final char c = bound.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+
+    public static String encode(final Range range, final IProcessor processor, final CodecParams codecParams) {
+        if (range.isEmpty()) {
+            return "empty";
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append(range.lowerInclusive() ? '[' : '(');
+        if (range.lower() != null) {
+            sb.append(quoteBound(processor.encodeTxt(range.lower(), codecParams)));
+        }
+        sb.append(',');
+        if (range.upper() != null) {
+            sb.append(quoteBound(processor.encodeTxt(range.upper(), codecParams)));
+        }
+        sb.append(range.upperInclusive() ? ']' : ')');
+        return sb.toString();
+    }
+}
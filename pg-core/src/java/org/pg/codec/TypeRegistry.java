@@ -0,0 +1,154 @@
+package org.pg.codec;
+
+import org.pg.Const;
+import org.pg.processor.Array;
+import org.pg.processor.IProcessor;
+import org.pg.processor.Multirange;
+import org.pg.processor.Processors;
+import org.pg.processor.Range;
+import org.pg.processor.Text;
+import org.pg.type.PGType;
+import org.pg.util.IntMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+Processors of types read from pg_type (enums, vector, hstore,
+citext, ranges, arrays of them, etc) and OIDs of types by their full names.
+A standalone connection has its own registry. Connections of a pool
+share one registry per server (host, port, database), so each custom
+type is fetched once. Both maps are safe for concurrent use, and
+reading them doesn't take any locks. Processors are kept in an
+int-keyed map as they're looked up per value.
+
+The scope of a shared registry is the server, not a pool: all pools
+(and their connections) to the same host, port and database use
+it, so clear() affects all of them. Registries live as long as the
+process; there is one per server, so they're never evicted.
+ */
+public final class TypeRegistry {
+
+    private static final Map<String, TypeRegistry> registries = new ConcurrentHashMap<>();
+
+    private final String identity;
+    private final IntMap<IProcessor> oidMap = new IntMap<>();
+    private final Map<String, Integer> oidCache = new ConcurrentHashMap<>();
+    private volatile boolean isPreloaded = false;
+
+    private TypeRegistry(final String identity) {
+        this.identity = identity;
+    }
+
+    public static TypeRegistry create() {
+        return new TypeRegistry(null);
+    }
+
+    /*
+    Get a registry shared by all the connections to the same server.
+     */
+    public static TypeRegistry forServer(final String identity) {
+        return registries.computeIfAbsent(identity, TypeRegistry::new);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<TypeRegistry %s, types: %s>",
+                identity == null ? "local" : identity,
+                oidMap.size()
+        );
+    }
+
+    public String identity() {
+        return identity;
+    }
+
+    public int size() {
+        return oidMap.size();
+    }
+
+    public synchronized void clear() {
+        oidMap.clear();
+        oidCache.clear();
+        isPreloaded = false;
+    }
+
+    /*
+    All user types have been loaded at once, so other
+    connections sharing the registry may skip it.
+     */
+    public void markPreloaded() {
+        isPreloaded = true;
+    }
+
+    public boolean isPreloaded() {
+        return isPreloaded;
+    }
+
+    /*
+    Replace all the types with the given ones, e.g. when the catalog
+    has changed: entries of types which are gone don't survive.
+     */
+    public synchronized void replaceTypes(final List<PGType> types) {
+        final TypeRegistry fresh = new TypeRegistry(identity);
+        for (final PGType type: types) {
+            fresh.setPgType(type);
+        }
+        oidMap.replaceWith(fresh.oidMap);
+        oidCache.putAll(fresh.oidCache);
+        oidCache.keySet().retainAll(fresh.oidCache.keySet());
+        isPreloaded = true;
+    }
+
+    public Integer getOidByType(final String fullType) {
+        return oidCache.get(fullType);
+    }
+
+    public boolean isKnownOid(final int oid) {
+        return oidMap.containsKey(oid);
+    }
+
+    public IProcessor getProcessor(final int oid) {
+        return oidMap.get(oid);
+    }
+
+    /*
+    Processors go first: the name -> OID entry is published last,
+    so whoever finds the OID (e.g. resolveType reading the registry
+    without the connection's lock) also finds its processor.
+    Synchronized with replaceTypes so a type found by another
+    connection in the meantime doesn't get lost; writes are rare.
+     */
+    public synchronized void setPgType(final PGType pgType) {
+        final int oid = pgType.oid();
+        final String signature = pgType.signature();
+
+        if (pgType.isElem()) {
+            final int oidArr = pgType.typarray();
+            oidMap.put(oidArr, new Array(oidArr, pgType.oid()));
+        }
+
+        if (pgType.isEnum()) {
+            oidMap.put(oid, Processors.defaultEnum);
+        } else if (signature.equals(Const.TYPE_SIG_VECTOR)) {
+            oidMap.put(oid, Processors.vector);
+        } else if (signature.equals(Const.TYPE_SIG_SPARSEVEC)) {
+            oidMap.put(oid, Processors.sparsevec);
+        } else if (signature.equals(Const.TYPE_SIG_HSTORE)) {
+            oidMap.put(oid, Processors.hstore);
+        } else if (signature.equals(Const.TYPE_SEG_CITEXT)) {
+            oidMap.put(oid, new Text(oid));
+        } else if (pgType.isRange()) {
+            oidMap.put(oid, new Range(oid, pgType.subtype()));
+        } else if (pgType.isMultirange()) {
+            oidMap.put(oid, new Multirange(oid, pgType.subtype()));
+        } else if (pgType.isArray()) {
+            oidMap.put(oid, new Array(oid, pgType.typelem()));
+        } else {
+            oidMap.put(oid, Processors.unsupported);
+        }
+
+        oidCache.put(pgType.fullName(), pgType.oid());
+    }
+}
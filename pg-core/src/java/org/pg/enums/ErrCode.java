@@ -3,4 +3,5 @@ package org.pg.enums;
 public class ErrCode {
     // TODO: return int?
     public static String PREPARED_STATEMENT_NOT_FOUND = "26000";
+    public static String FEATURE_NOT_SUPPORTED = "0A000";
 }
@@ -7,6 +7,7 @@ import org.pg.type.*;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.InetAddress;
 import java.nio.ByteBuffer;
 import java.time.*;
 import java.util.Date;
@@ -239,6 +240,8 @@ public class OID {
             return BYTEA;
         } else if (x instanceof org.pg.json.JSON.Wrapper w) {
             return JSONB;
+        } else if (x instanceof org.pg.json.RawJSON rj) {
+            return JSONB;
         } else if (x instanceof ByteBuffer bb) {
             return BYTEA;
         } else if (x instanceof Date d) {
@@ -275,6 +278,30 @@ public class OID {
             return PATH;
         } else if (x instanceof LineSegment ls) {
             return LSEG;
+        } else if (x instanceof Interval i) {
+            return INTERVAL;
+        } else if (x instanceof Duration d) {
+            return INTERVAL;
+        } else if (x instanceof Period p) {
+            return INTERVAL;
+        } else if (x instanceof Inet i) {
+            return INET;
+        } else if (x instanceof InetAddress a) {
+            return INET;
+        } else if (x instanceof MacAddress m) {
+            return m.length() == 8 ? MACADDR8 : MACADDR;
+        } else if (x instanceof int[] ia) {
+            return _INT4;
+        } else if (x instanceof long[] la) {
+            return _INT8;
+        } else if (x instanceof float[] fa) {
+            return _FLOAT4;
+        } else if (x instanceof double[] da) {
+            return _FLOAT8;
+        } else if (x instanceof String[] sa) {
+            return _TEXT;
+        } else if (x instanceof java.util.UUID[] ua) {
+            return _UUID;
         } else {
             return DEFAULT;
         }
@@ -0,0 +1,5 @@
+package org.pg.enums;
+
+public enum OverflowPolicy {
+    BLOCK, DROP_NEWEST, DROP_OLDEST
+}
@@ -0,0 +1,5 @@
+package org.pg.enums;
+
+public enum VectorMode {
+    VECTOR, ARRAY, BUFFER
+}
@@ -38,6 +38,14 @@ public final class PGErrorResponse extends PGError implements IExceptionInfo {
         return errorResponse.fields().get("code");
     }
 
+    /**
+     * Get any field of an error message by its name,
+     * e.g. "message", "detail", "function". Can be null.
+     */
+    public String getField (final String field) {
+        return errorResponse.fields().get(field);
+    }
+
     @Override
     public IPersistentMap getData() {
         final Map<String, String> fields = errorResponse.fields();
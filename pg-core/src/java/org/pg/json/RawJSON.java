@@ -0,0 +1,92 @@
+package org.pg.json;
+
+import clojure.lang.IDeref;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+A JSON document kept as raw UTF-8 bytes, exactly as it came from
+the server. Nothing gets parsed: when passed to an ObjectMapper or
+back into Postgres, the bytes are written verbatim. Deref it to get
+parsed Clojure data: a value read from the database is parsed with
+the connection's object mapper, one built by hand with the default
+mapper.
+ */
+public final class RawJSON implements IDeref, JsonSerializable {
+
+    private final byte[] bytes;
+    private final ObjectMapper mapper;
+
+    public RawJSON(final byte[] bytes) {
+        this(bytes, JSON.defaultMapper);
+    }
+
+    public RawJSON(final byte[] bytes, final ObjectMapper mapper) {
+        this.bytes = bytes;
+        this.mapper = mapper;
+    }
+
+    public static RawJSON ofByteBuffer(final ByteBuffer bb, final ObjectMapper mapper) {
+        final byte[] bytes = new byte[bb.remaining()];
+        bb.get(bytes);
+        return new RawJSON(bytes, mapper);
+    }
+
+    public static RawJSON ofString(final String string) {
+        return ofString(string, JSON.defaultMapper);
+    }
+
+    public static RawJSON ofString(final String string, final ObjectMapper mapper) {
+        return new RawJSON(string.getBytes(StandardCharsets.UTF_8), mapper);
+    }
+
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public void writeTo(final OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+
+    @Override
+    public Object deref() {
+        return JSON.readValue(mapper, ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public void serialize(final JsonGenerator gen,
+                          final SerializerProvider ignored) throws IOException {
+        gen.writeRawValue(toString());
+    }
+
+    @Override
+    public void serializeWithType(final JsonGenerator gen,
+                                  final SerializerProvider provider,
+                                  final TypeSerializer ignored) throws IOException {
+        serialize(gen, provider);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof RawJSON rj && Arrays.equals(bytes, rj.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -39,6 +39,30 @@ public record RowDescription (
             Format format) {
     }
 
+    /*
+    A copy of this description with all the columns having
+    the given format. Describing a statement always reports
+    the text format, whereas Bind may request binary.
+     */
+    public RowDescription withFormat (final Format format) {
+        final Column[] newColumns = new Column[columnCount];
+        Column col;
+        for (int i = 0; i < columnCount; i++) {
+            col = columns[i];
+            newColumns[i] = new Column(
+                    col.index,
+                    col.name,
+                    col.tableOid,
+                    col.columnOid,
+                    col.typeOid,
+                    col.typeLen,
+                    col.typeMod,
+                    format
+            );
+        }
+        return new RowDescription(columnCount, newColumns);
+    }
+
     public String [] getColumnNames () {
         final String[] names = new String[columnCount];
         for (short i = 0; i < columnCount; i++) {
@@ -17,7 +17,7 @@ public class Array extends AProcessor {
 
     @Override
     public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
-        if (x instanceof Indexed) {
+        if (ArrayBin.isEncodable(x)) {
             return ArrayBin.encode(x, itemOid, codecParams);
         } else {
             return binEncodingError(x, oid);
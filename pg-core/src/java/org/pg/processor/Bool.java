@@ -38,4 +38,9 @@ public class Bool extends AProcessor {
     public Boolean decodeTxt(final String string, final CodecParams codecParams) {
         return PrimitiveTxt.decodeBool(string);
     }
+
+    @Override
+    public Boolean decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return PrimitiveTxt.decodeBool(buf, offset, len);
+    }
 }
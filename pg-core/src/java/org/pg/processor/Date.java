@@ -62,4 +62,9 @@ public class Date extends AProcessor {
     public LocalDate decodeTxt(final String text, final CodecParams codecParams) {
         return DateTimeTxt.decodeDATE(text);
     }
+
+    @Override
+    public LocalDate decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return DateTimeTxt.decodeDATE(buf, offset, len);
+    }
 }
@@ -9,4 +9,13 @@ public interface IProcessor {
     String encodeTxt(final Object value, final CodecParams codecParams);
     Object decodeBin(final ByteBuffer bb, final CodecParams codecParams);
     Object decodeTxt(final String text, final CodecParams codecParams);
+
+    /*
+    Decode a text value right from a byte range of a DataRow
+    message. By default, make a String and pass it further;
+    processors of simple types parse the bytes directly.
+     */
+    default Object decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return decodeTxt(new String(buf, offset, len, codecParams.serverCharset()), codecParams);
+    }
 }
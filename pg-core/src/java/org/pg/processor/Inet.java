@@ -0,0 +1,58 @@
+package org.pg.processor;
+
+import org.pg.codec.CodecParams;
+import org.pg.enums.OID;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+
+/*
+Serves both inet and cidr: they share the wire format
+which only differs in the is_cidr flag.
+ */
+public class Inet extends AProcessor {
+
+    private final int oid;
+    private final boolean isCidr;
+
+    public Inet(final int oid) {
+        this.oid = oid;
+        this.isCidr = oid == OID.CIDR;
+    }
+
+    @Override
+    public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
+        if (x instanceof org.pg.type.Inet i) {
+            return i.toByteBuffer(isCidr);
+        } else if (x instanceof InetAddress a) {
+            return org.pg.type.Inet.of(a).toByteBuffer(isCidr);
+        } else if (x instanceof String s) {
+            return org.pg.type.Inet.fromSQL(s).toByteBuffer(isCidr);
+        } else {
+            return binEncodingError(x, oid);
+        }
+    }
+
+    @Override
+    public String encodeTxt(final Object x, final CodecParams codecParams) {
+        if (x instanceof org.pg.type.Inet i) {
+            return i.toSQL();
+        } else if (x instanceof InetAddress a) {
+            return a.getHostAddress();
+        } else if (x instanceof String s) {
+            return s;
+        } else {
+            return txtEncodingError(x, oid);
+        }
+    }
+
+    @Override
+    public org.pg.type.Inet decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
+        return org.pg.type.Inet.fromByteBuffer(bb);
+    }
+
+    @Override
+    public org.pg.type.Inet decodeTxt(final String text, final CodecParams codecParams) {
+        return org.pg.type.Inet.fromSQL(text);
+    }
+}
@@ -1,6 +1,7 @@
 package org.pg.processor;
 
 import org.pg.codec.CodecParams;
+import org.pg.codec.PrimitiveTxt;
 import org.pg.enums.OID;
 import org.pg.util.BBTool;
 import org.pg.util.NumTool;
@@ -30,4 +31,9 @@ public class Int2 extends AProcessor {
     public Short decodeTxt(final String text, final CodecParams codecParams) {
         return Short.parseShort(text);
     }
+
+    @Override
+    public Short decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return PrimitiveTxt.decodeShort(buf, offset, len);
+    }
 }
@@ -1,6 +1,7 @@
 package org.pg.processor;
 
 import org.pg.codec.CodecParams;
+import org.pg.codec.PrimitiveTxt;
 import org.pg.enums.OID;
 import org.pg.util.BBTool;
 import org.pg.util.NumTool;
@@ -30,4 +31,9 @@ public class Int4 extends AProcessor {
     public Integer decodeTxt(final String text, final CodecParams codecParams) {
         return Integer.parseInt(text);
     }
+
+    @Override
+    public Integer decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return PrimitiveTxt.decodeInt(buf, offset, len);
+    }
 }
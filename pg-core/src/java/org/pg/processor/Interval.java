@@ -0,0 +1,53 @@
+package org.pg.processor;
+
+import org.pg.codec.CodecParams;
+import org.pg.enums.OID;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Period;
+
+public class Interval extends AProcessor {
+
+    public static final int oid = OID.INTERVAL;
+
+    @Override
+    public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
+        if (x instanceof org.pg.type.Interval i) {
+            return i.toByteBuffer();
+        } else if (x instanceof Duration d) {
+            return org.pg.type.Interval.ofDuration(d).toByteBuffer();
+        } else if (x instanceof Period p) {
+            return org.pg.type.Interval.ofPeriod(p).toByteBuffer();
+        } else if (x instanceof String s) {
+            return org.pg.type.Interval.fromSQL(s).toByteBuffer();
+        } else {
+            return binEncodingError(x, oid);
+        }
+    }
+
+    @Override
+    public String encodeTxt(final Object x, final CodecParams codecParams) {
+        if (x instanceof org.pg.type.Interval i) {
+            return i.toSQL();
+        } else if (x instanceof Duration d) {
+            return org.pg.type.Interval.ofDuration(d).toSQL();
+        } else if (x instanceof Period p) {
+            return org.pg.type.Interval.ofPeriod(p).toSQL();
+        } else if (x instanceof String s) {
+            return s;
+        } else {
+            return txtEncodingError(x, oid);
+        }
+    }
+
+    @Override
+    public org.pg.type.Interval decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
+        return org.pg.type.Interval.fromByteBuffer(bb);
+    }
+
+    @Override
+    public org.pg.type.Interval decodeTxt(final String text, final CodecParams codecParams) {
+        return org.pg.type.Interval.fromSQL(text);
+    }
+}
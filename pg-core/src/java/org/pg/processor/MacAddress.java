@@ -0,0 +1,68 @@
+package org.pg.processor;
+
+import org.pg.codec.CodecParams;
+import org.pg.enums.OID;
+import org.pg.error.PGError;
+
+import java.nio.ByteBuffer;
+
+/*
+Serves both macaddr (6 bytes) and macaddr8 (8 bytes). A 6-byte
+address passed as macaddr8 gets extended to EUI-64.
+ */
+public class MacAddress extends AProcessor {
+
+    private final int oid;
+    private final boolean isLong;
+
+    public MacAddress(final int oid) {
+        this.oid = oid;
+        this.isLong = oid == OID.MACADDR8;
+    }
+
+    private org.pg.type.MacAddress coerce(final org.pg.type.MacAddress m) {
+        if (isLong) {
+            return m.toEUI64();
+        } else if (m.length() != 6) {
+            throw new PGError("macaddr must be 6 bytes long: %s", m);
+        } else {
+            return m;
+        }
+    }
+
+    @Override
+    public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
+        if (x instanceof org.pg.type.MacAddress m) {
+            return coerce(m).toByteBuffer();
+        } else if (x instanceof String s) {
+            return coerce(org.pg.type.MacAddress.fromSQL(s)).toByteBuffer();
+        } else if (x instanceof byte[] ba) {
+            return coerce(org.pg.type.MacAddress.of(ba)).toByteBuffer();
+        } else {
+            return binEncodingError(x, oid);
+        }
+    }
+
+    @Override
+    public String encodeTxt(final Object x, final CodecParams codecParams) {
+        if (x instanceof org.pg.type.MacAddress m) {
+            return m.toSQL();
+        } else if (x instanceof String s) {
+            return s;
+        } else if (x instanceof byte[] ba) {
+            return org.pg.type.MacAddress.of(ba).toSQL();
+        } else {
+            return txtEncodingError(x, oid);
+        }
+    }
+
+    @Override
+    public org.pg.type.MacAddress decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
+        return org.pg.type.MacAddress.fromByteBuffer(bb);
+    }
+
+    @Override
+    public org.pg.type.MacAddress decodeTxt(final String text, final CodecParams codecParams) {
+        return org.pg.type.MacAddress.fromSQL(text);
+    }
+}
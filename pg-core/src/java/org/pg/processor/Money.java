@@ -0,0 +1,126 @@
+package org.pg.processor;
+
+import clojure.lang.BigInt;
+import org.pg.codec.CodecParams;
+import org.pg.enums.OID;
+import org.pg.error.PGError;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+
+/*
+Money is an int8 of the smallest currency units. The number of
+fractional digits depends on the lc_monetary setting of the server
+which is not reported to the client, so it comes from the config
+(:money-scale, 2 by default). The text form is formatted by locale
+($1,234.56, 1.234,56 EUR, JPY 1,235) but always has exactly that many
+fractional digits, so only digits and the sign are taken from it.
+Strings passed by the user are parsed with the dot as the decimal
+point.
+ */
+public class Money extends AProcessor {
+
+    public static final int oid = OID.MONEY;
+
+    private static BigDecimal toBigDecimal(final Object x) {
+        if (x instanceof BigDecimal bd) {
+            return bd;
+        } else if (x instanceof BigInteger bi) {
+            return new BigDecimal(bi);
+        } else if (x instanceof BigInt bi) {
+            return bi.toBigDecimal();
+        } else if (x instanceof Long l) {
+            return BigDecimal.valueOf(l);
+        } else if (x instanceof Integer i) {
+            return BigDecimal.valueOf(i);
+        } else if (x instanceof Short s) {
+            return BigDecimal.valueOf(s);
+        } else if (x instanceof Double d) {
+            return BigDecimal.valueOf(d);
+        } else if (x instanceof Float f) {
+            return BigDecimal.valueOf(f);
+        } else if (x instanceof String s) {
+            return parse(s);
+        } else {
+            return null;
+        }
+    }
+
+    /*
+    Parse a value printed by the server: the digits make up
+    the amount in the smallest units.
+     */
+    private static BigDecimal parseServer(final String text, final int scale) {
+        final StringBuilder sb = new StringBuilder(text.length());
+        boolean isNegative = false;
+        char c;
+        for (int i = 0; i < text.length(); i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+            } else if (c == '-' || c == '(') {
+                isNegative = true;
+            }
+        }
+        if (sb.isEmpty()) {
+            throw new PGError("wrong money string: %s", text);
+        }
+        final BigDecimal result = new BigDecimal(new BigInteger(sb.toString()), scale);
+        return isNegative ? result.negate() : result;
+    }
+
+    private static BigDecimal parse(final String text) {
+        final StringBuilder sb = new StringBuilder(text.length());
+        boolean isNegative = false;
+        char c;
+        for (int i = 0; i < text.length(); i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9' || c == '.') {
+                sb.append(c);
+            } else if (c == '-' || c == '(') {
+                isNegative = true;
+            }
+        }
+        try {
+            final BigDecimal result = new BigDecimal(sb.toString());
+            return isNegative ? result.negate() : result;
+        } catch (NumberFormatException e) {
+            throw new PGError(e, "wrong money string: %s", text);
+        }
+    }
+
+    @Override
+    public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
+        final BigDecimal bd = toBigDecimal(x);
+        if (bd == null) {
+            return binEncodingError(x, oid);
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(8);
+        bb.putLong(bd.setScale(codecParams.moneyScale(), RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        return bb;
+    }
+
+    @Override
+    public String encodeTxt(final Object x, final CodecParams codecParams) {
+        if (x instanceof String s) {
+            return s;
+        }
+        final BigDecimal bd = toBigDecimal(x);
+        if (bd == null) {
+            return txtEncodingError(x, oid);
+        }
+        return bd.toPlainString();
+    }
+
+    @Override
+    public BigDecimal decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
+        return BigDecimal.valueOf(bb.getLong(), codecParams.moneyScale());
+    }
+
+    @Override
+    public BigDecimal decodeTxt(final String text, final CodecParams codecParams) {
+        return parseServer(text, codecParams.moneyScale());
+    }
+}
@@ -0,0 +1,109 @@
+package org.pg.processor;
+
+import clojure.lang.IPersistentVector;
+import clojure.lang.PersistentVector;
+import clojure.lang.RT;
+import org.pg.codec.CodecParams;
+import org.pg.codec.RangeTxt;
+import org.pg.error.PGError;
+import org.pg.util.BBTool;
+import org.pg.util.TypeTool;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/*
+A multirange is a vector of ranges. The processor knows the OID
+of its range type and gets the subtype from the range processor.
+ */
+public class Multirange extends AProcessor {
+
+    private final int oid;
+    private final int rangeOid;
+
+    public Multirange(final int oid, final int rangeOid) {
+        this.oid = oid;
+        this.rangeOid = rangeOid;
+    }
+
+    private IProcessor getSubtypeProcessor(final CodecParams codecParams) {
+        final IProcessor processor = codecParams.getProcessor(rangeOid);
+        if (processor instanceof Range r) {
+            return codecParams.getProcessor(r.subtypeOid());
+        } else {
+            throw new PGError("unknown range type of multirange, oid: %s, range oid: %s", oid, rangeOid);
+        }
+    }
+
+    private static Iterator<?> iterRanges(final Object x, final int oid) {
+        if (x instanceof Iterable<?> || x instanceof Object[]) {
+            return RT.iter(x);
+        } else {
+            throw new PGError("cannot encode multirange, oid: %s, %s", oid, TypeTool.repr(x));
+        }
+    }
+
+    @Override
+    public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
+        final IProcessor processor = getSubtypeProcessor(codecParams);
+        if (x instanceof String s) {
+            return encodeBin(RangeTxt.decodeMulti(s, processor, codecParams), codecParams);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Iterator<?> iter = iterRanges(x, oid);
+        int count = 0;
+        byte[] bytes;
+        while (iter.hasNext()) {
+            bytes = Range.encodeRange(org.pg.type.Range.fromObject(iter.next()), processor, codecParams);
+            out.writeBytes(BBTool.ofInt(bytes.length).array());
+            out.writeBytes(bytes);
+            count++;
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(4 + out.size());
+        bb.putInt(count);
+        bb.put(out.toByteArray());
+        return bb;
+    }
+
+    @Override
+    public String encodeTxt(final Object x, final CodecParams codecParams) {
+        if (x instanceof String s) {
+            return s;
+        }
+        final IProcessor processor = getSubtypeProcessor(codecParams);
+        final Iterator<?> iter = iterRanges(x, oid);
+        final StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        while (iter.hasNext()) {
+            sb.append(RangeTxt.encode(org.pg.type.Range.fromObject(iter.next()), processor, codecParams));
+            if (iter.hasNext()) {
+                sb.append(',');
+            }
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public IPersistentVector decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
+        final IProcessor processor = getSubtypeProcessor(codecParams);
+        final int count = bb.getInt();
+        IPersistentVector result = PersistentVector.EMPTY;
+        int len;
+        ByteBuffer buf;
+        for (int i = 0; i < count; i++) {
+            len = bb.getInt();
+            buf = bb.slice();
+            buf.limit(len);
+            BBTool.skip(bb, len);
+            result = result.cons(Range.decodeRange(buf, processor, codecParams));
+        }
+        return result;
+    }
+
+    @Override
+    public IPersistentVector decodeTxt(final String text, final CodecParams codecParams) {
+        return RangeTxt.decodeMulti(text, getSubtypeProcessor(codecParams), codecParams);
+    }
+}
@@ -17,141 +17,141 @@ public class Processors {
         return getProcessor(oid) != null;
     }
 
-    // just a bit faster than HashMap :)
-    public static class ToyMap {
+    /*
+    All builtin OIDs are below FirstGenbkiObjectId (10000), so their
+    processors live in a flat array indexed by OID: a lookup is a bounds
+    check and a single load.
+     */
+    public final static int BUILTIN_OID_LIMIT = 10000;
+    private final static IProcessor[] table = new IProcessor[BUILTIN_OID_LIMIT];
 
-        private record Node (int oid, IProcessor processor) {}
-
-        final static int RANGE = 91;
-        final static int SPACE = 3;
-        final private Node[][] cells;
-
-        public ToyMap() {
-            cells = new Node[RANGE][SPACE];
-        }
-
-        public void set(final int oid, final IProcessor processor) {
-            final int i = oid % RANGE;
-            final Node[] list = cells[i];
-            int j;
-            for (j = 0; j < SPACE; j++) {
-                if (list[j] == null || list[j].oid == oid) {
-                    break;
-                }
-            }
-            if (j == list.length) {
-                throw new PGError("The node list is full, oid: %s, space: %s",
-                        oid, SPACE);
-            }
-            list[j] = new Node(oid, processor);
-        }
-        public IProcessor get(final int oid) {
-            if (oid < 0) return null;
-            final int i = oid % RANGE;
-            Node[] list = cells[i];
-            for (int j = 0; j < SPACE; j++) {
-                if (list[j] == null) {
-                    return null;
-                } else if (list[j].oid == oid) {
-                    return list[j].processor;
-                }
-            }
-            return null;
+    private static void set(final int oid, final IProcessor processor) {
+        if (oid < 0 || oid >= BUILTIN_OID_LIMIT) {
+            throw new PGError("builtin OID is out of range: %s", oid);
         }
+        table[oid] = processor;
     }
-
-    final static ToyMap oidMap = new ToyMap();
     static {
         // numbers
-        oidMap.set(OID.INT2, new Int2());
-        oidMap.set(OID.INT4, new Int4());
-        oidMap.set(OID.OID, new Int4());
-        oidMap.set(OID.INT8, new Int8());
-        oidMap.set(OID.NUMERIC, new Numeric());
-        oidMap.set(OID.FLOAT4, new Float4());
-        oidMap.set(OID.FLOAT8, new Float8());
+        set(OID.INT2, new Int2());
+        set(OID.INT4, new Int4());
+        set(OID.OID, new Int4());
+        set(OID.INT8, new Int8());
+        set(OID.NUMERIC, new Numeric());
+        set(OID.FLOAT4, new Float4());
+        set(OID.FLOAT8, new Float8());
         // text
-        oidMap.set(OID.VARCHAR, new Text(OID.VARCHAR));
-        oidMap.set(OID.TEXT, new Text(OID.TEXT));
-        oidMap.set(OID.NAME, new Text(OID.NAME));
-        oidMap.set(OID.BPCHAR, new Text(OID.BPCHAR));
-        oidMap.set(OID.REGPROC, new Text(OID.REGPROC));
+        set(OID.VARCHAR, new Text(OID.VARCHAR));
+        set(OID.TEXT, new Text(OID.TEXT));
+        set(OID.NAME, new Text(OID.NAME));
+        set(OID.BPCHAR, new Text(OID.BPCHAR));
+        set(OID.REGPROC, new Text(OID.REGPROC));
 
-        oidMap.set(OID.CHAR, new Char());
+        set(OID.CHAR, new Char());
         // geometry
-        oidMap.set(OID.POINT, new Point());
-        oidMap.set(OID.LINE, new Line());
-        oidMap.set(OID.BOX, new Box());
-        oidMap.set(OID.CIRCLE, new Circle());
-        oidMap.set(OID.POLYGON, new Polygon());
-        oidMap.set(OID.PATH, new Path());
-        oidMap.set(OID.LSEG, new LineSegment());
+        set(OID.POINT, new Point());
+        set(OID.LINE, new Line());
+        set(OID.BOX, new Box());
+        set(OID.CIRCLE, new Circle());
+        set(OID.POLYGON, new Polygon());
+        set(OID.PATH, new Path());
+        set(OID.LSEG, new LineSegment());
         // misc
-        oidMap.set(OID.UUID, new Uuid());
-        oidMap.set(OID.JSON, new Json());
-        oidMap.set(OID.JSONB, new Jsonb());
-        oidMap.set(OID.BYTEA, new Bytea());
-        oidMap.set(OID.BOOL, new Bool());
-        oidMap.set(OID.BIT, new Bit());
-        oidMap.set(OID.VOID, new Void());
+        set(OID.UUID, new Uuid());
+        set(OID.JSON, new Json());
+        set(OID.JSONB, new Jsonb());
+        set(OID.BYTEA, new Bytea());
+        set(OID.BOOL, new Bool());
+        set(OID.BIT, new Bit());
+        set(OID.VOID, new Void());
         // date & time
-        oidMap.set(OID.TIMESTAMPTZ, new Timestamptz());
-        oidMap.set(OID.TIMESTAMP, new Timestamp());
-        oidMap.set(OID.DATE, new Date());
-        oidMap.set(OID.TIME, new Time());
-        oidMap.set(OID.TIMETZ, new Timetz());
+        set(OID.TIMESTAMPTZ, new Timestamptz());
+        set(OID.TIMESTAMP, new Timestamp());
+        set(OID.DATE, new Date());
+        set(OID.TIME, new Time());
+        set(OID.TIMETZ, new Timetz());
+        set(OID.INTERVAL, new Interval());
+        // network
+        set(OID.INET, new Inet(OID.INET));
+        set(OID.CIDR, new Inet(OID.CIDR));
+        set(OID.MACADDR, new MacAddress(OID.MACADDR));
+        set(OID.MACADDR8, new MacAddress(OID.MACADDR8));
+        // money
+        set(OID.MONEY, new Money());
+        // ranges
+        set(OID.INT4RANGE, new Range(OID.INT4RANGE, OID.INT4));
+        set(OID.INT8RANGE, new Range(OID.INT8RANGE, OID.INT8));
+        set(OID.NUMRANGE, new Range(OID.NUMRANGE, OID.NUMERIC));
+        set(OID.TSRANGE, new Range(OID.TSRANGE, OID.TIMESTAMP));
+        set(OID.TSTZRANGE, new Range(OID.TSTZRANGE, OID.TIMESTAMPTZ));
+        set(OID.DATERANGE, new Range(OID.DATERANGE, OID.DATE));
+        set(OID.INT4MULTIRANGE, new Multirange(OID.INT4MULTIRANGE, OID.INT4RANGE));
+        set(OID.INT8MULTIRANGE, new Multirange(OID.INT8MULTIRANGE, OID.INT8RANGE));
+        set(OID.NUMMULTIRANGE, new Multirange(OID.NUMMULTIRANGE, OID.NUMRANGE));
+        set(OID.TSMULTIRANGE, new Multirange(OID.TSMULTIRANGE, OID.TSRANGE));
+        set(OID.TSTZMULTIRANGE, new Multirange(OID.TSTZMULTIRANGE, OID.TSTZRANGE));
+        set(OID.DATEMULTIRANGE, new Multirange(OID.DATEMULTIRANGE, OID.DATERANGE));
         // arrays
-        oidMap.set(OID._INT2, new Array(OID._INT2, OID.INT2));
-        oidMap.set(OID._INT4, new Array(OID._INT4, OID.INT4));
-        oidMap.set(OID._OID, new Array(OID._OID, OID.OID));
-        oidMap.set(OID._INT8, new Array(OID._INT8, OID.INT8));
-        oidMap.set(OID._NUMERIC, new Array(OID._NUMERIC, OID.NUMERIC));
-        oidMap.set(OID._FLOAT4, new Array(OID._FLOAT4, OID.FLOAT4));
-        oidMap.set(OID._FLOAT8, new Array(OID._FLOAT8, OID.FLOAT8));
+        set(OID._INT2, new Array(OID._INT2, OID.INT2));
+        set(OID._INT4, new Array(OID._INT4, OID.INT4));
+        set(OID._OID, new Array(OID._OID, OID.OID));
+        set(OID._INT8, new Array(OID._INT8, OID.INT8));
+        set(OID._NUMERIC, new Array(OID._NUMERIC, OID.NUMERIC));
+        set(OID._FLOAT4, new Array(OID._FLOAT4, OID.FLOAT4));
+        set(OID._FLOAT8, new Array(OID._FLOAT8, OID.FLOAT8));
 
-        oidMap.set(OID._INT2, new Array(OID._INT2, OID.INT2));
-        oidMap.set(OID._INT4, new Array(OID._INT4, OID.INT4));
-        oidMap.set(OID._OID, new Array(OID._OID, OID.OID));
-        oidMap.set(OID._INT8, new Array(OID._INT8, OID.INT8));
-        oidMap.set(OID._NUMERIC, new Array(OID._NUMERIC, OID.NUMERIC));
-        oidMap.set(OID._FLOAT4, new Array(OID._FLOAT4, OID.FLOAT4));
-        oidMap.set(OID._FLOAT8, new Array(OID._FLOAT8, OID.FLOAT8));
-        oidMap.set(OID._VARCHAR, new Array(OID._VARCHAR, OID.VARCHAR));
-        oidMap.set(OID._TEXT, new Array(OID._TEXT, OID.TEXT));
-        oidMap.set(OID._NAME, new Array(OID._NAME, OID.NAME));
-        oidMap.set(OID._BPCHAR, new Array(OID._BPCHAR, OID.BPCHAR));
-        oidMap.set(OID._CHAR, new Array(OID._CHAR, OID.CHAR));
-        oidMap.set(OID._UUID, new Array(OID._UUID, OID.UUID));
-        oidMap.set(OID._JSON, new Array(OID._JSON, OID.JSON));
-        oidMap.set(OID._JSONB, new Array(OID._JSONB, OID.JSONB));
-        oidMap.set(OID._BYTEA, new Array(OID._BYTEA, OID.BYTEA));
-        oidMap.set(OID._BOOL, new Array(OID._BOOL, OID.BOOL));
-        oidMap.set(OID._TIMESTAMPTZ, new Array(OID._TIMESTAMPTZ, OID.TIMESTAMPTZ));
-        oidMap.set(OID._TIMESTAMP, new Array(OID._TIMESTAMP, OID.TIMESTAMP));
-        oidMap.set(OID._DATE, new Array(OID._DATE, OID.DATE));
-        oidMap.set(OID._TIME, new Array(OID._TIME, OID.TIME));
-        oidMap.set(OID._TIMETZ, new Array(OID._TIMETZ, OID.TIMETZ));
-        oidMap.set(OID._BIT, new Array(OID._BIT, OID.BIT));
-        oidMap.set(OID._POINT, new Array(OID._POINT, OID.POINT));
-        oidMap.set(OID._LINE, new Array(OID._LINE, OID.LINE));
-        oidMap.set(OID._BOX, new Array(OID._BOX, OID.BOX));
-        oidMap.set(OID._CIRCLE, new Array(OID._CIRCLE, OID.CIRCLE));
-        oidMap.set(OID._POLYGON, new Array(OID._POLYGON, OID.POLYGON));
-        oidMap.set(OID._PATH, new Array(OID._PATH, OID.PATH));
-        oidMap.set(OID._LSEG, new Array(OID._LSEG, OID.LSEG));
-        oidMap.set(OID._REGPROC, new Array(OID._REGPROC, OID.REGPROC));
+        set(OID._INT2, new Array(OID._INT2, OID.INT2));
+        set(OID._INT4, new Array(OID._INT4, OID.INT4));
+        set(OID._OID, new Array(OID._OID, OID.OID));
+        set(OID._INT8, new Array(OID._INT8, OID.INT8));
+        set(OID._NUMERIC, new Array(OID._NUMERIC, OID.NUMERIC));
+        set(OID._FLOAT4, new Array(OID._FLOAT4, OID.FLOAT4));
+        set(OID._FLOAT8, new Array(OID._FLOAT8, OID.FLOAT8));
+        set(OID._VARCHAR, new Array(OID._VARCHAR, OID.VARCHAR));
+        set(OID._TEXT, new Array(OID._TEXT, OID.TEXT));
+        set(OID._NAME, new Array(OID._NAME, OID.NAME));
+        set(OID._BPCHAR, new Array(OID._BPCHAR, OID.BPCHAR));
+        set(OID._CHAR, new Array(OID._CHAR, OID.CHAR));
+        set(OID._UUID, new Array(OID._UUID, OID.UUID));
+        set(OID._JSON, new Array(OID._JSON, OID.JSON));
+        set(OID._JSONB, new Array(OID._JSONB, OID.JSONB));
+        set(OID._BYTEA, new Array(OID._BYTEA, OID.BYTEA));
+        set(OID._BOOL, new Array(OID._BOOL, OID.BOOL));
+        set(OID._TIMESTAMPTZ, new Array(OID._TIMESTAMPTZ, OID.TIMESTAMPTZ));
+        set(OID._TIMESTAMP, new Array(OID._TIMESTAMP, OID.TIMESTAMP));
+        set(OID._DATE, new Array(OID._DATE, OID.DATE));
+        set(OID._TIME, new Array(OID._TIME, OID.TIME));
+        set(OID._TIMETZ, new Array(OID._TIMETZ, OID.TIMETZ));
+        set(OID._BIT, new Array(OID._BIT, OID.BIT));
+        set(OID._POINT, new Array(OID._POINT, OID.POINT));
+        set(OID._LINE, new Array(OID._LINE, OID.LINE));
+        set(OID._BOX, new Array(OID._BOX, OID.BOX));
+        set(OID._CIRCLE, new Array(OID._CIRCLE, OID.CIRCLE));
+        set(OID._POLYGON, new Array(OID._POLYGON, OID.POLYGON));
+        set(OID._PATH, new Array(OID._PATH, OID.PATH));
+        set(OID._LSEG, new Array(OID._LSEG, OID.LSEG));
+        set(OID._REGPROC, new Array(OID._REGPROC, OID.REGPROC));
+        set(OID._INTERVAL, new Array(OID._INTERVAL, OID.INTERVAL));
+        set(OID._INET, new Array(OID._INET, OID.INET));
+        set(OID._CIDR, new Array(OID._CIDR, OID.CIDR));
+        set(OID._MACADDR, new Array(OID._MACADDR, OID.MACADDR));
+        set(OID._MACADDR8, new Array(OID._MACADDR8, OID.MACADDR8));
+        set(OID._MONEY, new Array(OID._MONEY, OID.MONEY));
+        set(OID._INT4RANGE, new Array(OID._INT4RANGE, OID.INT4RANGE));
+        set(OID._INT8RANGE, new Array(OID._INT8RANGE, OID.INT8RANGE));
+        set(OID._NUMRANGE, new Array(OID._NUMRANGE, OID.NUMRANGE));
+        set(OID._TSRANGE, new Array(OID._TSRANGE, OID.TSRANGE));
+        set(OID._TSTZRANGE, new Array(OID._TSTZRANGE, OID.TSTZRANGE));
+        set(OID._DATERANGE, new Array(OID._DATERANGE, OID.DATERANGE));
+        set(OID._INT4MULTIRANGE, new Array(OID._INT4MULTIRANGE, OID.INT4MULTIRANGE));
+        set(OID._INT8MULTIRANGE, new Array(OID._INT8MULTIRANGE, OID.INT8MULTIRANGE));
+        set(OID._NUMMULTIRANGE, new Array(OID._NUMMULTIRANGE, OID.NUMMULTIRANGE));
+        set(OID._TSMULTIRANGE, new Array(OID._TSMULTIRANGE, OID.TSMULTIRANGE));
+        set(OID._TSTZMULTIRANGE, new Array(OID._TSTZMULTIRANGE, OID.TSTZMULTIRANGE));
+        set(OID._DATEMULTIRANGE, new Array(OID._DATEMULTIRANGE, OID.DATEMULTIRANGE));
     }
 
     public static IProcessor getProcessor(final int oid) {
-        return oidMap.get(oid);
-    }
-
-    public static void main(final String... args) {
-        final ToyMap tm = new ToyMap();
-        tm.set(21, unsupported);
-        System.out.println(tm.get(21));
-        tm.set(21, null);
-        System.out.println(tm.get(21));
-
+        return oid >= 0 && oid < BUILTIN_OID_LIMIT ? table[oid] : null;
     }
 }
@@ -0,0 +1,105 @@
+package org.pg.processor;
+
+import org.pg.codec.CodecParams;
+import org.pg.codec.RangeTxt;
+import org.pg.util.BBTool;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/*
+A range of any subtype. Bounds are encoded and decoded with the
+processor of the subtype (Int4, Numeric, Timestamptz, etc) which
+is resolved on each call as the subtype might be a custom one.
+ */
+public class Range extends AProcessor {
+
+    private final int oid;
+    private final int subtypeOid;
+
+    public Range(final int oid, final int subtypeOid) {
+        this.oid = oid;
+        this.subtypeOid = subtypeOid;
+    }
+
+    public int subtypeOid() {
+        return subtypeOid;
+    }
+
+    private static void writeBound(final ByteArrayOutputStream out, final byte[] bytes) {
+        out.writeBytes(BBTool.ofInt(bytes.length).array());
+        out.writeBytes(bytes);
+    }
+
+    private static Object readBound(final ByteBuffer bb, final IProcessor processor, final CodecParams codecParams) {
+        final int len = bb.getInt();
+        final ByteBuffer buf = bb.slice();
+        buf.limit(len);
+        BBTool.skip(bb, len);
+        return processor.decodeBin(buf, codecParams);
+    }
+
+    public static byte[] encodeRange(final org.pg.type.Range range,
+                                     final IProcessor processor,
+                                     final CodecParams codecParams) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(range.flags());
+        if (range.hasLower()) {
+            writeBound(out, processor.encodeBin(range.lower(), codecParams).array());
+        }
+        if (range.hasUpper()) {
+            writeBound(out, processor.encodeBin(range.upper(), codecParams).array());
+        }
+        return out.toByteArray();
+    }
+
+    public static org.pg.type.Range decodeRange(final ByteBuffer bb,
+                                                final IProcessor processor,
+                                                final CodecParams codecParams) {
+        final int flags = bb.get();
+        if ((flags & org.pg.type.Range.FLAG_EMPTY) != 0) {
+            return org.pg.type.Range.EMPTY;
+        }
+        final Object lower = (flags & org.pg.type.Range.FLAG_LB_INF) != 0 ? null : readBound(bb, processor, codecParams);
+        final Object upper = (flags & org.pg.type.Range.FLAG_UB_INF) != 0 ? null : readBound(bb, processor, codecParams);
+        return org.pg.type.Range.fromFlags(flags, lower, upper);
+    }
+
+    private org.pg.type.Range toRange(final String text, final CodecParams codecParams) {
+        return RangeTxt.decode(text, codecParams.getProcessor(subtypeOid), codecParams);
+    }
+
+    @Override
+    public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
+        final IProcessor processor = codecParams.getProcessor(subtypeOid);
+        if (x instanceof String s) {
+            return ByteBuffer.wrap(encodeRange(toRange(s, codecParams), processor, codecParams));
+        } else {
+            return ByteBuffer.wrap(encodeRange(org.pg.type.Range.fromObject(x), processor, codecParams));
+        }
+    }
+
+    @Override
+    public String encodeTxt(final Object x, final CodecParams codecParams) {
+        if (x instanceof String s) {
+            return s;
+        } else {
+            return RangeTxt.encode(org.pg.type.Range.fromObject(x), codecParams.getProcessor(subtypeOid), codecParams);
+        }
+    }
+
+    @Override
+    public org.pg.type.Range decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
+        return decodeRange(bb, codecParams.getProcessor(subtypeOid), codecParams);
+    }
+
+    @Override
+    public org.pg.type.Range decodeTxt(final String text, final CodecParams codecParams) {
+        return toRange(text, codecParams);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<Range processor, oid: %s, subtype: %s>", oid, subtypeOid);
+    }
+}
@@ -46,4 +46,9 @@ public class Time extends AProcessor {
     public LocalTime decodeTxt(final String text, final CodecParams codecParams) {
         return DateTimeTxt.decodeTIME(text);
     }
+
+    @Override
+    public LocalTime decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return DateTimeTxt.decodeTIME(buf, offset, len);
+    }
 }
@@ -63,4 +63,9 @@ public class Timestamp extends AProcessor {
     public LocalDateTime decodeTxt(final String text, final CodecParams codecParams) {
         return DateTimeTxt.decodeTIMESTAMP(text);
     }
+
+    @Override
+    public LocalDateTime decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return DateTimeTxt.decodeTIMESTAMP(buf, offset, len);
+    }
 }
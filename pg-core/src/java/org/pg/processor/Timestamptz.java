@@ -63,4 +63,9 @@ public class Timestamptz extends AProcessor {
     public OffsetDateTime decodeTxt(final String text, final CodecParams codecParams) {
         return DateTimeTxt.decodeTIMESTAMPTZ(text);
     }
+
+    @Override
+    public OffsetDateTime decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return DateTimeTxt.decodeTIMESTAMPTZ(buf, offset, len);
+    }
 }
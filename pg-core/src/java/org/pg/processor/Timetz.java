@@ -46,4 +46,9 @@ public class Timetz extends AProcessor {
     public OffsetTime decodeTxt(final String string, final CodecParams codecParams) {
         return DateTimeTxt.decodeTIMETZ(string);
     }
+
+    @Override
+    public OffsetTime decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return DateTimeTxt.decodeTIMETZ(buf, offset, len);
+    }
 }
@@ -1,6 +1,7 @@
 package org.pg.processor;
 
 import org.pg.codec.CodecParams;
+import org.pg.codec.PrimitiveTxt;
 import org.pg.enums.OID;
 import org.pg.util.BBTool;
 
@@ -43,4 +44,9 @@ public class Uuid extends AProcessor {
     public java.util.UUID decodeTxt(final String text, final CodecParams codecParams) {
         return java.util.UUID.fromString(text);
     }
+
+    @Override
+    public java.util.UUID decodeTxt(final byte[] buf, final int offset, final int len, final CodecParams codecParams) {
+        return PrimitiveTxt.decodeUUID(buf, offset, len);
+    }
 }
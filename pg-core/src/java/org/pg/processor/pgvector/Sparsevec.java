@@ -26,12 +26,42 @@ public class Sparsevec extends AProcessor {
         return bb;
     }
 
+    /*
+    Encode a dense float array skipping zero values; no intermediate
+    SparseVector object gets created.
+     */
+    private ByteBuffer encodeFloats(final float[] array) {
+        int nnz = 0;
+        for (float f: array) {
+            if (f != 0) {
+                nnz++;
+            }
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(4 + 4 + 4 + nnz * 8);
+        bb.putInt(array.length);
+        bb.putInt(nnz);
+        bb.putInt(0);
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] != 0) {
+                bb.putInt(i);
+            }
+        }
+        for (float f: array) {
+            if (f != 0) {
+                bb.putFloat(f);
+            }
+        }
+        return bb;
+    }
+
     @Override
     public ByteBuffer encodeBin(final Object x, final CodecParams codecParams) {
         if (x instanceof String s) {
             return encodeSparseVector(SparseVector.ofString(s));
         } else if (x instanceof SparseVector sv) {
             return encodeSparseVector(sv);
+        } else if (x instanceof float[] fa) {
+            return encodeFloats(fa);
         } else if (x instanceof Iterable<?> i) {
             return encodeSparseVector(SparseVector.ofIterable(i));
         } else {
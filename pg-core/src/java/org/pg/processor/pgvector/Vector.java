@@ -1,11 +1,14 @@
 package org.pg.processor.pgvector;
 
+import clojure.lang.ITransientCollection;
 import clojure.lang.PersistentVector;
 import org.pg.codec.CodecParams;
+import org.pg.enums.VectorMode;
 import org.pg.processor.AProcessor;
 import org.pg.util.NumTool;
 
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.util.Iterator;
 
 import clojure.lang.RT;
@@ -15,9 +18,35 @@ import clojure.lang.RT;
 //
 public class Vector extends AProcessor {
 
+    private static VectorMode getMode(final CodecParams codecParams) {
+        return codecParams == null ? VectorMode.VECTOR : codecParams.vectorMode();
+    }
+
+    public static ByteBuffer encodeFloats(final float[] array) {
+        final ByteBuffer bb = ByteBuffer.allocate(2 + 2 + array.length * 4);
+        bb.putShort(RT.shortCast(array.length));
+        bb.putShort((short)0); // ignored
+        bb.asFloatBuffer().put(array);
+        return bb;
+    }
+
+    public static ByteBuffer encodeFloatBuffer(final FloatBuffer fb) {
+        final FloatBuffer src = fb.duplicate();
+        final int count = src.remaining();
+        final ByteBuffer bb = ByteBuffer.allocate(2 + 2 + count * 4);
+        bb.putShort(RT.shortCast(count));
+        bb.putShort((short)0); // ignored
+        bb.asFloatBuffer().put(src);
+        return bb;
+    }
+
     @Override
     public ByteBuffer encodeBin(final Object x , final CodecParams codecParams) {
-        if (x instanceof Iterable<?> i) {
+        if (x instanceof float[] fa) {
+            return encodeFloats(fa);
+        } else if (x instanceof FloatBuffer fb) {
+            return encodeFloatBuffer(fb);
+        } else if (x instanceof Iterable<?> i) {
             final int count = RT.count(i);
             ByteBuffer bb = ByteBuffer.allocate(2 + 2 + count * 4);
             bb.putShort(NumTool.toShort(count));
@@ -31,9 +60,27 @@ public class Vector extends AProcessor {
         }
     }
 
+    private static String encodeFloatsTxt(final FloatBuffer fb) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        final int len = fb.limit();
+        for (int i = fb.position(); i < len; i++) {
+            sb.append(fb.get(i));
+            if (i < len - 1) {
+                sb.append(',');
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
     @Override
     public String encodeTxt(final Object x, final CodecParams codecParams) {
-        if (x instanceof Iterable<?> i) {
+        if (x instanceof float[] fa) {
+            return encodeFloatsTxt(FloatBuffer.wrap(fa));
+        } else if (x instanceof FloatBuffer fb) {
+            return encodeFloatsTxt(fb);
+        } else if (x instanceof Iterable<?> i) {
             final Iterator<?> iterator = i.iterator();
             final StringBuilder sb = new StringBuilder();
             sb.append('[');
@@ -52,28 +99,47 @@ public class Vector extends AProcessor {
         }
     }
 
+    private static Object fromFloatBuffer(final FloatBuffer fb, final VectorMode mode) {
+        return switch (mode) {
+            case BUFFER -> fb.asReadOnlyBuffer();
+            case ARRAY -> {
+                final float[] array = new float[fb.remaining()];
+                fb.get(array);
+                yield array;
+            }
+            case VECTOR -> {
+                final int len = fb.limit();
+                ITransientCollection result = PersistentVector.EMPTY.asTransient();
+                for (int i = 0; i < len; i++) {
+                    result = result.conj(fb.get(i));
+                }
+                yield result.persistent();
+            }
+        };
+    }
+
+    /*
+    Depending on the mode, return either a Clojure vector, a float[]
+    array, or a read-only FloatBuffer view over the original bytes
+    (no copying at all; the view holds the whole row in memory).
+     */
     @Override
-    public PersistentVector decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
+    public Object decodeBin(final ByteBuffer bb, final CodecParams codecParams) {
         final int dim = bb.getShort();
         final int ignored = bb.getShort();
-        PersistentVector result = PersistentVector.EMPTY;
-        float item;
-        for (int i = 0; i < dim; i++) {
-            item = bb.getFloat();
-            result = result.cons(item);
-        }
-        return result;
+        final FloatBuffer fb = bb.slice().limit(dim * 4).asFloatBuffer();
+        return fromFloatBuffer(fb, getMode(codecParams));
     }
 
     @Override
-    public PersistentVector decodeTxt(final String text, final CodecParams codecParams) {
+    public Object decodeTxt(final String text, final CodecParams codecParams) {
         final int len = text.length();
         // skip [] and split by comma
         final String[] items = text.substring(1, (len - 1)).split("\\s*,\\s*");
-        PersistentVector result = PersistentVector.EMPTY;
-        for (String item: items) {
-            result = result.cons(Float.parseFloat(item));
+        final float[] array = new float[items.length];
+        for (int i = 0; i < items.length; i++) {
+            array[i] = Float.parseFloat(items[i]);
         }
-        return result;
+        return fromFloatBuffer(FloatBuffer.wrap(array), getMode(codecParams));
     }
 }
@@ -0,0 +1,136 @@
+package org.pg.type;
+
+import org.pg.error.PGError;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.regex.Pattern;
+
+/*
+An address with a network prefix, the value of both inet and cidr
+types. Parsing never resolves host names: only IP literals are
+accepted. An IPv4-mapped IPv6 address stays IPv6 (Java would turn
+it into IPv4 otherwise and change the value).
+ */
+public record Inet (InetAddress address, int prefix) {
+
+    // see PGSQL_AF_INET and PGSQL_AF_INET6 in utils/inet.h
+    private static final byte FAMILY_INET = 2;
+    private static final byte FAMILY_INET6 = 3;
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    public Inet {
+        if (prefix < 0 || prefix > maxPrefix(address)) {
+            throw new PGError("wrong prefix for %s: %s", address.getHostAddress(), prefix);
+        }
+    }
+
+    private static int maxPrefix(final InetAddress address) {
+        return address instanceof Inet4Address ? 32 : 128;
+    }
+
+    public static Inet of(final InetAddress address) {
+        return new Inet(address, maxPrefix(address));
+    }
+
+    public static Inet of(final InetAddress address, final int prefix) {
+        return new Inet(address, prefix);
+    }
+
+    public boolean isFullPrefix() {
+        return prefix == maxPrefix(address);
+    }
+
+    private static InetAddress toAddress(final byte[] bytes, final boolean isV6) {
+        try {
+            if (isV6) {
+                return Inet6Address.getByAddress(null, bytes, null);
+            } else {
+                return InetAddress.getByAddress(bytes);
+            }
+        } catch (UnknownHostException e) {
+            throw new PGError(e, "wrong address bytes, length: %s", bytes.length);
+        }
+    }
+
+    private static InetAddress parseAddress(final String text) {
+        final boolean isV6 = text.indexOf(':') != -1;
+        if (!isV6 && !IPV4.matcher(text).matches()) {
+            throw new PGError("wrong IP address: %s", text);
+        }
+        final InetAddress address;
+        try {
+            address = InetAddress.getByName(text);
+        } catch (UnknownHostException e) {
+            throw new PGError(e, "wrong IP address: %s", text);
+        }
+        if (isV6 && address instanceof Inet4Address) {
+            final byte[] bytes = new byte[16];
+            bytes[10] = (byte) 0xff;
+            bytes[11] = (byte) 0xff;
+            System.arraycopy(address.getAddress(), 0, bytes, 12, 4);
+            return toAddress(bytes, true);
+        }
+        return address;
+    }
+
+    public ByteBuffer toByteBuffer(final boolean isCidr) {
+        final byte[] bytes = address.getAddress();
+        final ByteBuffer bb = ByteBuffer.allocate(4 + bytes.length);
+        bb.put(address instanceof Inet4Address ? FAMILY_INET : FAMILY_INET6);
+        bb.put((byte) prefix);
+        bb.put((byte) (isCidr ? 1 : 0));
+        bb.put((byte) bytes.length);
+        bb.put(bytes);
+        return bb;
+    }
+
+    public static Inet fromByteBuffer(final ByteBuffer bb) {
+        final byte family = bb.get();
+        final int prefix = bb.get() & 0xFF;
+        bb.get(); // is_cidr
+        final byte[] bytes = new byte[bb.get() & 0xFF];
+        bb.get(bytes);
+        return new Inet(toAddress(bytes, family == FAMILY_INET6), prefix);
+    }
+
+    public static Inet fromSQL(final String text) {
+        final int slash = text.indexOf('/');
+        if (slash == -1) {
+            return Inet.of(parseAddress(text));
+        }
+        final InetAddress address = parseAddress(text.substring(0, slash));
+        try {
+            return new Inet(address, Integer.parseInt(text.substring(slash + 1)));
+        } catch (NumberFormatException e) {
+            throw new PGError(e, "wrong inet string: %s", text);
+        }
+    }
+
+    public static Inet fromObject(final Object x) {
+        if (x instanceof Inet i) {
+            return i;
+        } else if (x instanceof InetAddress a) {
+            return Inet.of(a);
+        } else if (x instanceof String s) {
+            return Inet.fromSQL(s);
+        } else if (x instanceof ByteBuffer bb) {
+            return Inet.fromByteBuffer(bb);
+        } else {
+            throw PGError.error("wrong inet input: %s", x);
+        }
+    }
+
+    public String toSQL() {
+        return address.getHostAddress() + "/" + prefix;
+    }
+
+    @Override
+    public String toString() {
+        return isFullPrefix() ? address.getHostAddress() : toSQL();
+    }
+}
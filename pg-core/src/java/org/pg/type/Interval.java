@@ -0,0 +1,246 @@
+package org.pg.type;
+
+import org.pg.error.PGError;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+A Postgres interval: months, days and microseconds which are kept
+apart as Postgres does (a month is not always 30 days, and a day is
+not always 24 hours). It's a TemporalAmount, so it can be added to
+dates and timestamps directly; toPeriod and toDuration give plain
+java.time values when the interval fits them.
+ */
+public record Interval (int months, int days, long micros) implements TemporalAmount {
+
+    private static final long MICROS_IN_SECOND = 1_000_000L;
+    private static final long MICROS_IN_MINUTE = 60 * MICROS_IN_SECOND;
+    private static final long MICROS_IN_HOUR = 60 * MICROS_IN_MINUTE;
+    private static final long MICROS_IN_DAY = 24 * MICROS_IN_HOUR;
+
+    private static final List<TemporalUnit> UNITS = List.of(
+            ChronoUnit.MONTHS,
+            ChronoUnit.DAYS,
+            ChronoUnit.MICROS
+    );
+
+    // PnYnMnDTnHnMnS, each number might be signed
+    private static final Pattern ISO = Pattern.compile(
+            "P(?:([-+]?\\d+)Y)?(?:([-+]?\\d+)M)?(?:([-+]?\\d+)W)?(?:([-+]?\\d+)D)?" +
+            "(?:T(?:([-+]?\\d+)H)?(?:([-+]?\\d+)M)?(?:([-+]?\\d+(?:\\.\\d+)?)S)?)?"
+    );
+
+    // [-+]HH:MM:SS[.ffffff]
+    private static final Pattern TIME = Pattern.compile(
+            "([-+])?(\\d+):(\\d+)(?::(\\d+(?:\\.\\d+)?))?"
+    );
+
+    public static Interval of(final int months, final int days, final long micros) {
+        return new Interval(months, days, micros);
+    }
+
+    public static Interval ofPeriod(final Period period) {
+        return new Interval(Math.toIntExact(period.toTotalMonths()), period.getDays(), 0);
+    }
+
+    public static Interval ofDuration(final Duration duration) {
+        return new Interval(0, 0, duration.getSeconds() * MICROS_IN_SECOND + duration.getNano() / 1000);
+    }
+
+    /*
+    Throws if the interval has a time part.
+     */
+    public Period toPeriod() {
+        if (micros != 0) {
+            throw new PGError("interval has a time part and cannot be a Period: %s", this);
+        }
+        return Period.of(0, months, days).normalized();
+    }
+
+    /*
+    Days are taken as 24 hours. Throws if the interval has months.
+     */
+    public Duration toDuration() {
+        if (months != 0) {
+            throw new PGError("interval has months and cannot be a Duration: %s", this);
+        }
+        return Duration.ofDays(days).plus(micros, ChronoUnit.MICROS);
+    }
+
+    @Override
+    public long get(final TemporalUnit unit) {
+        if (unit == ChronoUnit.MONTHS) {
+            return months;
+        } else if (unit == ChronoUnit.DAYS) {
+            return days;
+        } else if (unit == ChronoUnit.MICROS) {
+            return micros;
+        } else {
+            throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    @Override
+    public List<TemporalUnit> getUnits() {
+        return UNITS;
+    }
+
+    @Override
+    public Temporal addTo(Temporal temporal) {
+        if (months != 0) {
+            temporal = temporal.plus(months, ChronoUnit.MONTHS);
+        }
+        if (days != 0) {
+            temporal = temporal.plus(days, ChronoUnit.DAYS);
+        }
+        if (micros != 0) {
+            temporal = temporal.plus(micros, ChronoUnit.MICROS);
+        }
+        return temporal;
+    }
+
+    @Override
+    public Temporal subtractFrom(Temporal temporal) {
+        if (months != 0) {
+            temporal = temporal.minus(months, ChronoUnit.MONTHS);
+        }
+        if (days != 0) {
+            temporal = temporal.minus(days, ChronoUnit.DAYS);
+        }
+        if (micros != 0) {
+            temporal = temporal.minus(micros, ChronoUnit.MICROS);
+        }
+        return temporal;
+    }
+
+    public ByteBuffer toByteBuffer() {
+        final ByteBuffer bb = ByteBuffer.allocate(16);
+        bb.putLong(micros);
+        bb.putInt(days);
+        bb.putInt(months);
+        return bb;
+    }
+
+    public static Interval fromByteBuffer(final ByteBuffer bb) {
+        final long micros = bb.getLong();
+        final int days = bb.getInt();
+        final int months = bb.getInt();
+        return new Interval(months, days, micros);
+    }
+
+    private static int parseInt(final String text) {
+        return text == null ? 0 : Integer.parseInt(text);
+    }
+
+    private static long parseSeconds(final String text) {
+        return text == null ? 0 : new BigDecimal(text).movePointRight(6).longValue();
+    }
+
+    private static long parseTime(final Matcher m) {
+        final long micros = Long.parseLong(m.group(2)) * MICROS_IN_HOUR
+                + Long.parseLong(m.group(3)) * MICROS_IN_MINUTE
+                + parseSeconds(m.group(4));
+        return "-".equals(m.group(1)) ? -micros : micros;
+    }
+
+    private static Interval fromISO(final String text) {
+        final Matcher m = ISO.matcher(text);
+        if (!m.matches()) {
+            throw new PGError("wrong interval string: %s", text);
+        }
+        final int months = parseInt(m.group(1)) * 12 + parseInt(m.group(2));
+        final int days = parseInt(m.group(3)) * 7 + parseInt(m.group(4));
+        final long micros = parseInt(m.group(5)) * MICROS_IN_HOUR
+                + parseInt(m.group(6)) * MICROS_IN_MINUTE
+                + parseSeconds(m.group(7));
+        return new Interval(months, days, micros);
+    }
+
+    /*
+    Parse the "postgres" style: 1 year -2 mons +3 days -04:05:06.789
+     */
+    private static Interval fromPostgres(final String text) {
+        final String[] parts = text.trim().split("\\s+");
+        int months = 0;
+        int days = 0;
+        long micros = 0;
+        int i = 0;
+        while (i < parts.length) {
+            final String part = parts[i];
+            final Matcher m = TIME.matcher(part);
+            if (m.matches()) {
+                micros += parseTime(m);
+                i++;
+                continue;
+            }
+            if (i + 1 >= parts.length) {
+                throw new PGError("wrong interval string: %s", text);
+            }
+            final String unit = parts[i + 1];
+            if (unit.startsWith("year")) {
+                months += Integer.parseInt(part) * 12;
+            } else if (unit.startsWith("mon")) {
+                months += Integer.parseInt(part);
+            } else if (unit.startsWith("day")) {
+                days += Integer.parseInt(part);
+            } else {
+                throw new PGError("wrong interval string: %s", text);
+            }
+            i += 2;
+        }
+        return new Interval(months, days, micros);
+    }
+
+    /*
+    Parse either the "postgres" (default) or the "iso_8601" style
+    of the IntervalStyle setting.
+     */
+    public static Interval fromSQL(final String text) {
+        try {
+            if (text.startsWith("P")) {
+                return fromISO(text);
+            } else {
+                return fromPostgres(text);
+            }
+        } catch (NumberFormatException e) {
+            throw new PGError(e, "wrong interval string: %s", text);
+        }
+    }
+
+    public static Interval fromObject(final Object x) {
+        if (x instanceof Interval i) {
+            return i;
+        } else if (x instanceof Duration d) {
+            return Interval.ofDuration(d);
+        } else if (x instanceof Period p) {
+            return Interval.ofPeriod(p);
+        } else if (x instanceof String s) {
+            return Interval.fromSQL(s);
+        } else if (x instanceof ByteBuffer bb) {
+            return Interval.fromByteBuffer(bb);
+        } else {
+            throw PGError.error("wrong interval input: %s", x);
+        }
+    }
+
+    /*
+    ISO 8601 with signed fields which Postgres accepts
+    regardless of IntervalStyle.
+     */
+    public String toSQL() {
+        return "P" + months + "M" + days + "DT"
+                + BigDecimal.valueOf(micros, 6).stripTrailingZeros().toPlainString()
+                + "S";
+    }
+}
@@ -0,0 +1,111 @@
+package org.pg.type;
+
+import org.pg.error.PGError;
+import org.pg.util.HexTool;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/*
+A MAC address of 6 (macaddr) or 8 bytes (macaddr8). Not a record
+as records compare arrays by reference.
+ */
+public final class MacAddress {
+
+    private final byte[] bytes;
+
+    private MacAddress(final byte[] bytes) {
+        if (bytes.length != 6 && bytes.length != 8) {
+            throw new PGError("MAC address must be 6 or 8 bytes long: %s", bytes.length);
+        }
+        this.bytes = bytes;
+    }
+
+    public static MacAddress of(final byte[] bytes) {
+        return new MacAddress(bytes.clone());
+    }
+
+    public byte[] bytes() {
+        return bytes.clone();
+    }
+
+    public int length() {
+        return bytes.length;
+    }
+
+    /*
+    Turn a 6-byte address into EUI-64 by inserting FF:FE
+    in the middle, as Postgres does for macaddr8.
+     */
+    public MacAddress toEUI64() {
+        if (bytes.length == 8) {
+            return this;
+        }
+        final byte[] result = new byte[] {
+                bytes[0], bytes[1], bytes[2], (byte) 0xff, (byte) 0xfe, bytes[3], bytes[4], bytes[5]
+        };
+        return new MacAddress(result);
+    }
+
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(bytes.clone());
+    }
+
+    public static MacAddress fromByteBuffer(final ByteBuffer bb) {
+        final byte[] result = new byte[bb.remaining()];
+        bb.get(result);
+        return new MacAddress(result);
+    }
+
+    /*
+    Accept all the forms Postgres does: 08:00:2b:01:02:03,
+    08-00-2b-01-02-03, 08002b:010203, 0800.2b01.0203, etc.
+     */
+    public static MacAddress fromSQL(final String text) {
+        final String hex = text.trim().replaceAll("[:.\\-]", "");
+        if (hex.length() != 12 && hex.length() != 16) {
+            throw new PGError("wrong MAC address string: %s", text);
+        }
+        return new MacAddress(HexTool.parseHex(hex, 0));
+    }
+
+    public static MacAddress fromObject(final Object x) {
+        if (x instanceof MacAddress m) {
+            return m;
+        } else if (x instanceof String s) {
+            return MacAddress.fromSQL(s);
+        } else if (x instanceof byte[] ba) {
+            return MacAddress.of(ba);
+        } else if (x instanceof ByteBuffer bb) {
+            return MacAddress.fromByteBuffer(bb);
+        } else {
+            throw PGError.error("wrong MAC address input: %s", x);
+        }
+    }
+
+    public String toSQL() {
+        final StringBuilder sb = new StringBuilder(bytes.length * 3);
+        for (int i = 0; i < bytes.length; i++) {
+            if (i > 0) {
+                sb.append(':');
+            }
+            sb.append(String.format("%02x", bytes[i]));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof MacAddress m && Arrays.equals(bytes, m.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return toSQL();
+    }
+}
@@ -1,5 +1,6 @@
 package org.pg.type;
 
+import clojure.lang.ITransientCollection;
 import clojure.lang.Indexed;
 import clojure.lang.PersistentVector;
 import org.pg.clojure.CljAPI;
@@ -8,6 +9,7 @@ import org.pg.error.PGError;
 import clojure.lang.RT;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 public final class Matrix {
@@ -105,15 +107,27 @@ public final class Matrix {
         return dims;
     }
 
-    public static Object packElements(final int[] dims, final List<Object> elements) {
-        Object matrix = create(dims);
-        final int[] path = Matrix.initPath(dims.length);
-
-        for (Object val: elements) {
-            Matrix.incPath(dims, path);
-            matrix = Matrix.assocIn(matrix, path, val);
+    /*
+    Build a nested vector level by level using transients.
+     */
+    private static Object packLevel(final int[] dims, final int depth, final Iterator<Object> elements) {
+        final int dim = dims[depth];
+        final boolean isLeaf = depth == dims.length - 1;
+        ITransientCollection result = PersistentVector.EMPTY.asTransient();
+        for (int i = 0; i < dim; i++) {
+            if (isLeaf) {
+                result = result.conj(elements.hasNext() ? elements.next() : null);
+            } else {
+                result = result.conj(packLevel(dims, depth + 1, elements));
+            }
         }
+        return result.persistent();
+    }
 
-        return matrix;
+    public static Object packElements(final int[] dims, final List<Object> elements) {
+        if (dims.length == 0) {
+            return null;
+        }
+        return packLevel(dims, 0, elements.iterator());
     }
 }
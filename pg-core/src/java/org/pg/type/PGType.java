@@ -16,7 +16,8 @@ public record PGType(
         int typarray,
         char typdelim,
         int typelem,
-        String nspname
+        String nspname,
+        int subtype
 ) implements IDeref {
 
     public boolean isEnum() {
@@ -31,6 +32,14 @@ public record PGType(
         return typarray != 0;
     }
 
+    public boolean isRange() {
+        return typtype == 'r';
+    }
+
+    public boolean isMultirange() {
+        return typtype == 'm';
+    }
+
     /*
     A unique string specifying the current Postgres type.
     Serves as a key to connect a pgType with a custom processor.
@@ -62,7 +71,8 @@ public record PGType(
                 (int)    row.nth(7),
                 (char)   row.nth(8),
                 (int)    row.nth(9),
-                (String) row.nth(10)
+                (String) row.nth(10),
+                (int)    row.nth(11)
         );
     }
 
@@ -79,7 +89,8 @@ public record PGType(
                 KW.typarray, typarray,
                 KW.typdelim, typdelim,
                 KW.typelem, typelem,
-                KW.nspname, nspname
+                KW.nspname, nspname,
+                KW.subtype, subtype
         );
     }
 }
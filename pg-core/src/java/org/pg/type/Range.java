@@ -0,0 +1,106 @@
+package org.pg.type;
+
+import org.pg.error.PGError;
+
+import java.util.List;
+import java.util.Objects;
+
+/*
+A value of a range type (int4range, tstzrange, a custom one, etc).
+A null bound means the range is unbounded on that side. Bounds are
+already decoded by the processor of the range's subtype, so this
+class knows nothing about the wire format except the flags.
+ */
+public record Range (Object lower,
+                     Object upper,
+                     boolean lowerInclusive,
+                     boolean upperInclusive,
+                     boolean isEmpty) {
+
+    // see RANGE_* flags in utils/rangetypes.h
+    public static final int FLAG_EMPTY = 0x01;
+    public static final int FLAG_LB_INC = 0x02;
+    public static final int FLAG_UB_INC = 0x04;
+    public static final int FLAG_LB_INF = 0x08;
+    public static final int FLAG_UB_INF = 0x10;
+
+    public static final Range EMPTY = new Range(null, null, false, false, true);
+
+    /*
+    The default form of Postgres: [lower, upper)
+     */
+    public static Range of(final Object lower, final Object upper) {
+        return new Range(lower, upper, lower != null, false, false);
+    }
+
+    public static Range of(final Object lower,
+                           final Object upper,
+                           final boolean lowerInclusive,
+                           final boolean upperInclusive) {
+        return new Range(lower, upper, lower != null && lowerInclusive, upper != null && upperInclusive, false);
+    }
+
+    public static Range fromFlags(final int flags, final Object lower, final Object upper) {
+        if ((flags & FLAG_EMPTY) != 0) {
+            return EMPTY;
+        }
+        return new Range(
+                lower,
+                upper,
+                (flags & FLAG_LB_INC) != 0,
+                (flags & FLAG_UB_INC) != 0,
+                false
+        );
+    }
+
+    /*
+    Accept a range or a vector of two bounds, [lower, upper).
+     */
+    public static Range fromObject(final Object x) {
+        if (x instanceof Range r) {
+            return r;
+        } else if (x instanceof List<?> l && l.size() == 2) {
+            return Range.of(l.get(0), l.get(1));
+        } else {
+            throw PGError.error("wrong range input: %s", x);
+        }
+    }
+
+    public int flags() {
+        if (isEmpty) {
+            return FLAG_EMPTY;
+        }
+        int flags = 0;
+        if (lower == null) {
+            flags |= FLAG_LB_INF;
+        } else if (lowerInclusive) {
+            flags |= FLAG_LB_INC;
+        }
+        if (upper == null) {
+            flags |= FLAG_UB_INF;
+        } else if (upperInclusive) {
+            flags |= FLAG_UB_INC;
+        }
+        return flags;
+    }
+
+    public boolean hasLower() {
+        return !isEmpty && lower != null;
+    }
+
+    public boolean hasUpper() {
+        return !isEmpty && upper != null;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty) {
+            return "empty";
+        }
+        return (lowerInclusive ? "[" : "(")
+                + Objects.toString(lower, "")
+                + ","
+                + Objects.toString(upper, "")
+                + (upperInclusive ? "]" : ")");
+    }
+}
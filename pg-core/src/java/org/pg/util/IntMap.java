@@ -0,0 +1,127 @@
+package org.pg.util;
+
+import java.util.Arrays;
+
+/*
+A map with primitive int keys (OIDs) and open addressing: keys and
+values live in two flat arrays, a lookup probes the cells linearly
+and never boxes the key. Writes are rare (a type gets discovered
+once) while reads happen per value, so the map is copy-on-write:
+a writer builds a new table and publishes it through a volatile
+field. Readers never take a lock and always see a consistent table.
+ */
+public final class IntMap<V> {
+
+    private record Table(int[] keys, Object[] vals, int size) {}
+
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table = emptyTable(MIN_CAPACITY);
+
+    private static Table emptyTable(final int capacity) {
+        return new Table(new int[capacity], new Object[capacity], 0);
+    }
+
+    private static int mix(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(final int key) {
+        final Table t = table;
+        final int[] keys = t.keys;
+        final Object[] vals = t.vals;
+        final int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        Object val;
+        while ((val = vals[i]) != null) {
+            if (keys[i] == key) {
+                return (V) val;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(final int key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    // return true if the key is new
+    private static boolean insert(final int[] keys, final Object[] vals, final int key, final Object val) {
+        final int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (vals[i] != null) {
+            if (keys[i] == key) {
+                vals[i] = val;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        vals[i] = val;
+        return true;
+    }
+
+    /*
+    Null values are not allowed as null marks an empty cell.
+     */
+    public synchronized void put(final int key, final V val) {
+        if (val == null) {
+            throw new NullPointerException("IntMap value cannot be null");
+        }
+        final Table t = table;
+        final int[] keys;
+        final Object[] vals;
+        // keep the load factor below 0.5 for short probes
+        if ((t.size + 1) * 2 > t.keys.length) {
+            final int capacity = t.keys.length * 2;
+            keys = new int[capacity];
+            vals = new Object[capacity];
+            for (int i = 0; i < t.keys.length; i++) {
+                if (t.vals[i] != null) {
+                    insert(keys, vals, t.keys[i], t.vals[i]);
+                }
+            }
+        } else {
+            keys = Arrays.copyOf(t.keys, t.keys.length);
+            vals = Arrays.copyOf(t.vals, t.vals.length);
+        }
+        final boolean isNew = insert(keys, vals, key, val);
+        table = new Table(keys, vals, isNew ? t.size + 1 : t.size);
+    }
+
+    public synchronized void clear() {
+        table = emptyTable(MIN_CAPACITY);
+    }
+
+    /*
+    Take all the entries of another map at once: readers see
+    either the old content or the new one, never a mix.
+     */
+    public synchronized void replaceWith(final IntMap<V> other) {
+        table = other.table;
+    }
+
+    @Override
+    public String toString() {
+        final Table t = table;
+        final StringBuilder sb = new StringBuilder("{");
+        boolean isFirst = true;
+        for (int i = 0; i < t.keys.length; i++) {
+            if (t.vals[i] != null) {
+                if (!isFirst) {
+                    sb.append(", ");
+                }
+                sb.append(t.keys[i]).append('=').append(t.vals[i]);
+                isFirst = false;
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -5,17 +5,22 @@
             File
             InputStream
             OutputStream)
-   (java.time Instant
+   (java.net InetAddress)
+   (java.time Duration
+              Instant
               LocalDate
               LocalDateTime
               LocalTime
               OffsetDateTime
-              OffsetTime)
+              OffsetTime
+              Period)
    (java.util ArrayList
               Date
               HashMap)
    (java.util.concurrent Executors
                          ExecutionException)
+   (org.pg CancelTimer)
+   (org.pg.codec TypeRegistry)
    (org.pg.clojure RowMap)
    (org.pg.error PGError
                  PGErrorResponse))
@@ -35,7 +40,10 @@
    [pg.integration :refer [*CONFIG-TXT*
                            *CONFIG-BIN*
                            *PORT*
-                           fix-multi-port]]
+                           fix-multi-port
+                           is11?
+                           is12?
+                           is13?]]
    [pg.jdbc :as jdbc]
    [pg.json :as json]
    [pg.oid :as oid]
@@ -562,6 +570,68 @@ from
                res))))))
 
 
+(deftest test-client-intern-limit
+  (let [type-name (gen-type)]
+    (doseq [config [*CONFIG-TXT* *CONFIG-BIN*]]
+      (pg/with-connection [conn config]
+        (pg/execute conn (format "create type %s as enum ('foo', 'bar')" type-name))
+
+        (let [query
+              (format "select x::text as status, (case when x %% 2 = 0 then 'foo' else 'bar' end)::%s as kind
+                       from (select generate_series(1, 9) %% 3 as x) as sub"
+                      type-name)
+
+              res
+              (pg/execute conn query {:intern-limit 3})
+
+              res-uniq
+              (pg/execute conn "select x::text as uniq from generate_series(1, 5) as x"
+                          {:intern-limit 3})
+
+              res-plain
+              (pg/execute conn query)]
+
+          (is (= res res-plain))
+          (is (= 9 (count res)))
+
+          ;; the same instance for the same value
+          (is (identical? (-> res (get 0) :status)
+                          (-> res (get 3) :status)))
+          (is (identical? (-> res (get 0) :kind)
+                          (-> res (get 2) :kind)))
+          (is (not (identical? (-> res-plain (get 0) :status)
+                               (-> res-plain (get 3) :status))))
+
+          ;; too many distinct values: strings are still correct
+          (is (= ["1" "2" "3" "4" "5"]
+                 (mapv :uniq res-uniq))))
+
+        (pg/execute conn (format "drop type %s" type-name))))))
+
+
+(deftest test-client-intern-limit-large
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    ;; the table grows past its initial size
+    (let [query
+          "select (x % 100)::text as val from generate_series(1, 1000) as x"
+
+          res
+          (pg/execute conn query {:intern-limit 1000000})]
+
+      (is (= 1000 (count res)))
+      (is (identical? (-> res (get 0) :val)
+                      (-> res (get 100) :val))))
+
+    (doseq [limit [-1 (inc (bit-shift-left 1 24))]]
+      (try
+        (pg/execute conn "select 1" {:intern-limit limit})
+        (is false)
+        (catch PGError e
+          (is (= (format "intern limit must be between 0 and 16777216: %s" limit)
+                 (ex-message e))))))))
+
+
 (deftest test-client-unsupported-type-txt
   (let [type-name (gen-type)]
 
@@ -1016,6 +1086,158 @@ from
     (is (= 3 @counter!))))
 
 
+(deftest test-client-listener-idle
+
+  (let [capture!
+        (atom [])
+
+        channel
+        (str (gensym "channel"))
+
+        config
+        (assoc *CONFIG-TXT*
+               :so-timeout 300
+               :fn-notification
+               (fn [msg]
+                 (swap! capture! conj msg)))]
+
+    (with-open [listener (pg/listener config)]
+
+      (pg/listen listener channel)
+
+      ;; stay idle longer than the socket timeout
+      (Thread/sleep 1000)
+
+      (is (.isRunning listener))
+      (is (nil? (.getError listener)))
+
+      (pg/with-connection [conn *CONFIG-TXT*]
+        (pg/notify conn channel "after idle"))
+
+      (Thread/sleep 200)
+
+      (is (= ["after idle"]
+             (->> capture! deref (mapv :message)))))))
+
+
+(deftest test-client-listener
+
+  (let [capture!
+        (atom [])
+
+        latch
+        (new java.util.concurrent.CountDownLatch 3)
+
+        fn-notification
+        (fn [msg]
+          (swap! capture! conj msg)
+          (.countDown latch))
+
+        channel
+        (str (gensym "channel"))]
+
+    (with-open [listener (pg/listener *CONFIG-TXT* fn-notification)]
+
+      (pg/listen listener channel)
+      (is (= #{channel} (.getChannels listener)))
+
+      (pg/with-connection [conn *CONFIG-TXT*]
+        (pg/notify conn channel "1")
+        (pg/notify conn channel "2")
+        (pg/notify conn channel "3"))
+
+      (is (.await latch 5 java.util.concurrent.TimeUnit/SECONDS))
+
+      (is (= #{"1" "2" "3"}
+             (->> capture! deref (map :message) set)))
+
+      (try
+        (pg/listen listener "")
+        (is false)
+        (catch PGErrorResponse e
+          (is (-> e ex-message (str/includes? "zero-length delimited identifier")))))
+
+      (pg/unlisten listener channel)
+      (is (= #{} (.getChannels listener)))
+      (is (.isRunning listener)))
+
+    (try
+      (pg/listener *CONFIG-TXT*)
+      (is false)
+      (catch PGError e
+        (is (= "listener requires the fnNotification handler"
+               (ex-message e)))))))
+
+
+(deftest test-client-notification-dispatcher
+
+  (let [capture!
+        (atom {})
+
+        latch
+        (new java.util.concurrent.CountDownLatch 90)
+
+        fn-notification
+        (fn [{:keys [channel message]}]
+          (swap! capture! update channel (fnil conj []) (parse-long message))
+          (.countDown latch))
+
+        channels
+        (vec (for [_ (range 3)]
+               (str (gensym "channel"))))]
+
+    (with-open [dispatcher (pg/dispatcher {:workers 2
+                                           :queue-size 8})
+                listener (pg/listener (assoc *CONFIG-TXT*
+                                             :notification-dispatcher dispatcher)
+                                      fn-notification)]
+
+      (doseq [channel channels]
+        (pg/listen listener channel))
+
+      (pg/with-connection [conn *CONFIG-TXT*]
+        (doseq [i (range 30)
+                channel channels]
+          (pg/notify conn channel (str i))))
+
+      (is (.await latch 5 java.util.concurrent.TimeUnit/SECONDS))
+
+      (is (= (zipmap channels (repeat (vec (range 30))))
+             @capture!))
+
+      (let [stats (pg/dispatcher-stats dispatcher)]
+        (is (= {:workers 2
+                :queue-depth 0
+                :submitted 90
+                :failed 0
+                :dropped 0}
+               (select-keys stats [:workers :queue-depth :submitted :failed :dropped])))
+        (is (= [0 0] (:queue-depths stats)))
+        (is (number? (:latency-max-ms stats)))))
+
+    (try
+      (pg/dispatcher {:overflow :lol})
+      (is false)
+      (catch Exception e
+        (is (= "unknown overflow policy: :lol" (ex-message e)))))))
+
+
+(deftest test-client-notification-dispatcher-closed
+  (let [dispatcher (pg/dispatcher {:workers 1})
+        channel (str (gensym "channel"))]
+    (.close dispatcher)
+    (is (false? (.submit dispatcher channel identity 1)))
+    (pg/with-connection [conn (assoc *CONFIG-TXT*
+                                     :notification-dispatcher dispatcher
+                                     :fn-notification identity)]
+      (pg/listen conn channel)
+      ;; the notification comes back to this very connection
+      (pg/notify conn channel "late")
+      (is (= [{:one 1}] (pg/query conn "select 1 as one"))))
+    (is (= {:submitted 2 :dropped 2}
+           (select-keys (pg/dispatcher-stats dispatcher) [:submitted :dropped])))))
+
+
 (deftest test-client-listen-notify-exception
 
   (let [capture!
@@ -1684,6 +1906,41 @@ from
         (is (= {:foo 2} res2))))))
 
 
+(deftest test-prepare-execute-keys-cached
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (let [calls (atom 0)
+          fn-key (fn [k]
+                   (swap! calls inc)
+                   (keyword k))]
+
+      (pg/with-statement [stmt conn "select $1::integer as foo, 2 as bar, 3 as foo"]
+
+        (let [res1
+              (pg/execute-statement conn stmt {:params [1] :fn-key fn-key})
+
+              res2
+              (pg/execute-statement conn stmt {:params [2] :fn-key fn-key})
+
+              res3
+              (pg/execute-statement conn stmt {:params [3] :fn-key str/upper-case})]
+
+          (is (= [{:foo 1 :bar 2 :foo_1 3}] res1))
+          (is (= [{:foo 2 :bar 2 :foo_1 3}] res2))
+          (is (= [{"FOO" 3 "BAR" 2 "FOO_1" 3}] res3))
+          (is (= 3 @calls)))))
+
+    (let [calls (atom 0)
+          fn-key (fn [k]
+                   (swap! calls inc)
+                   (keyword k))]
+      (dotimes [i 3]
+        (is (= [{:x i}]
+               (pg/execute conn "select $1::integer as x" {:params [i] :fn-key fn-key}))))
+      (is (= 1 @calls)))))
+
+
 (deftest test-client-delete-result
   (pg/with-connection [conn *CONFIG-TXT*]
 
@@ -2097,6 +2354,57 @@ drop table %1$s;
              statements5)))))
 
 
+(deftest test-client-execute-statement-cache-result-changed
+  (doseq [config [*CONFIG-TXT* *CONFIG-BIN*]]
+    (pg/with-connection [conn config]
+      (pg/query conn "create temp table test (id int)")
+      (pg/query conn "insert into test values (1)")
+
+      (is (= [{:id 1}]
+             (pg/execute conn "select * from test")))
+
+      (pg/query conn "alter table test add column name text default 'aaa'")
+
+      ;; the cached statement gets replaced
+      (is (= [{:id 1 :name "aaa"}]
+             (pg/execute conn "select * from test")))
+
+      (is (= [{:id 1 :name "aaa"}]
+             (pg/execute conn "select * from test")))
+
+      (pg/with-statement [stmt conn "select * from test"]
+        (pg/query conn "alter table test drop column name")
+        (try
+          (pg/execute-statement conn stmt)
+          (is false)
+          (catch PGErrorResponse e
+            (is (= "0A000" (.getCode e)))))))))
+
+
+(deftest test-client-execute-statement-cache-result-changed-tx
+  (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+    (pg/query conn "create temp table test (id int)")
+    (pg/query conn "insert into test values (1)")
+
+    (is (= [{:id 1}]
+           (pg/execute conn "select * from test")))
+
+    ;; the transaction is aborted, so the error is not retried
+    (try
+      (pg/with-transaction [tx conn]
+        (pg/query tx "alter table test add column name text default 'aaa'")
+        (pg/execute tx "select * from test"))
+      (is false)
+      (catch PGErrorResponse e
+        (is (= "0A000" (.getCode e)))))
+
+    (is (= :I (pg/status conn)))
+
+    ;; the stale statement is gone from the cache
+    (is (= [{:id 1}]
+           (pg/execute conn "select * from test")))))
+
+
 (deftest test-client-execute-statement-cache-different-oids
   (pg/with-connection [conn *CONFIG-TXT*]
     (let [sql
@@ -2254,6 +2562,15 @@ drop table %1$s;
       (is (instance? LocalTime time)))))
 
 
+(deftest test-client-read-time-24
+  (pg/with-connection [conn *CONFIG-TXT*]
+    (let [res
+          (pg/execute conn "select '24:00:00'::time as time, '24:00:00+00'::timetz as timetz")]
+      (is (= [{:time (LocalTime/parse "00:00")
+               :timetz (OffsetTime/parse "00:00Z")}]
+             res)))))
+
+
 (deftest test-client-pass-time
 
   (pg/with-connection [conn *CONFIG-TXT*]
@@ -3073,15 +3390,175 @@ drop table %1$s;
 
 (deftest test-decode-binary-unsupported
   (pg/with-connection [conn (assoc *CONFIG-TXT* :binary-decode? true)]
-    (let [res (pg/execute conn "select '1 year 1 second'::interval as interval")]
-      (is (= [{:interval [0 0 0 0 0 15 66 64 0 0 0 0 0 0 0 12]}]
-             (update-in res [0 :interval] vec))))))
+    (let [res (pg/execute conn "select '16/B374D848'::pg_lsn as lsn")]
+      (is (= [{:lsn [0 0 0 22 -77 116 -40 72]}]
+             (update-in res [0 :lsn] vec))))))
 
 
 (deftest test-decode-text-unsupported
   (pg/with-connection [conn *CONFIG-TXT*]
+    (let [res (pg/execute conn "select '16/B374D848'::pg_lsn as lsn")]
+      (is (= [{:lsn "16/B374D848"}] res)))))
+
+
+(deftest test-interval-txt-bin
+  (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+
     (let [res (pg/execute conn "select '1 year 1 second'::interval as interval")]
-      (is (= [{:interval "1 year 00:00:01"}] res)))))
+      (is (= [{:interval (t/interval 12 0 1000000)}] res)))
+
+    (let [res (pg/execute conn "select '-1 days +02:03:04.5'::interval as interval")]
+      (is (= [{:interval (t/interval 0 -1 7384500000)}] res)))
+
+    (let [res (pg/execute conn
+                          "select $1::interval as a, $2::interval as b, $3::interval as c"
+                          {:params [(Duration/ofMinutes 90)
+                                    (Period/of 1 2 3)
+                                    (t/interval 1 -2 -3000000)]})]
+      (is (= [{:a (t/interval 0 0 5400000000)
+               :b (t/interval 14 3 0)
+               :c (t/interval 1 -2 -3000000)}]
+             res)))
+
+    (let [res (pg/execute conn "select '{1 day,2 hours}'::interval[] as arr")]
+      (is (= [{:arr [(t/interval 0 1 0) (t/interval 0 0 7200000000)]}] res)))))
+
+
+(deftest test-interval-temporal-amount
+  (let [interval (t/interval "1 mon 2 days 03:00:00")]
+    (is (= (LocalDateTime/parse "2024-03-02T03:00")
+           (.plus (LocalDateTime/parse "2024-01-31T00:00") interval)))
+    (is (= (Period/of 0 1 2) (.toPeriod (t/interval 1 2 0))))
+    (is (= (Duration/ofHours 26) (.toDuration (t/interval 0 1 7200000000))))))
+
+
+(deftest test-inet-cidr-txt-bin
+  (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+
+    (let [res (pg/execute conn
+                          "select '10.1.2.3'::inet as a, '10.1.2.3/8'::inet as b, '10.0.0.0/8'::cidr as c, '2001:db8::/32'::cidr as d")]
+      (is (= [{:a (t/inet "10.1.2.3")
+               :b (t/inet "10.1.2.3/8")
+               :c (t/inet "10.0.0.0/8")
+               :d (t/inet "2001:db8::/32")}]
+             res))
+      (is (= "10.1.2.3" (-> res first :a str)))
+      (is (= 32 (-> res first :a .prefix))))
+
+    (let [res (pg/execute conn
+                          "select $1::inet as a, $2::inet as b, $3::cidr as c"
+                          {:params [(InetAddress/getByName "127.0.0.1")
+                                    "::ffff:1.2.3.4"
+                                    (t/inet "192.168.0.0" 16)]})]
+      (is (= [{:a (t/inet "127.0.0.1")
+               :b (t/inet "::ffff:1.2.3.4")
+               :c (t/inet "192.168.0.0/16")}]
+             res)))
+
+    (let [res (pg/execute conn "select '{10.0.0.1,10.0.0.0/8}'::inet[] as arr")]
+      (is (= [{:arr [(t/inet "10.0.0.1") (t/inet "10.0.0.0/8")]}] res)))))
+
+
+(deftest test-macaddr-txt-bin
+  (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+
+    (let [res (pg/execute conn
+                          "select '0800.2b01.0203'::macaddr as a, '08:00:2b:01:02:03:04:05'::macaddr8 as b")]
+      (is (= [{:a (t/mac-address "08:00:2b:01:02:03")
+               :b (t/mac-address "08:00:2b:01:02:03:04:05")}]
+             res)))
+
+    (let [res (pg/execute conn
+                          "select $1::macaddr as a, $2::macaddr8 as b"
+                          {:params [(t/mac-address "08-00-2b-01-02-03")
+                                    "08:00:2b:01:02:03"]})]
+      (is (= [{:a (t/mac-address "08:00:2b:01:02:03")
+               :b (t/mac-address "08:00:2b:ff:fe:01:02:03")}]
+             res)))
+
+    (let [res (pg/execute conn "select '{08:00:2b:01:02:03}'::macaddr[] as arr")]
+      (is (= [{:arr [(t/mac-address "08:00:2b:01:02:03")]}] res)))))
+
+
+(deftest test-money-txt-bin
+  (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+
+    (let [res (pg/execute conn "select 1234.56::money as a, -5::money as b")]
+      (is (= [{:a 1234.56M :b -5.00M}] res)))
+
+    (let [res (pg/execute conn
+                          "select $1::money as a, $2::money as b"
+                          {:params [12.345M 100]})]
+      (is (= [{:a 12.35M :b 100.00M}] res)))
+
+    (let [res (pg/execute conn "select '{1.5,2}'::money[] as arr")]
+      (is (= [{:arr [1.50M 2.00M]}] res)))))
+
+
+(deftest test-money-scale
+  (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+    (let [res (pg/execute conn "select '-92233720368547758.08'::money as a")]
+      (is (= [{:a -92233720368547758.08M}] res))))
+
+  (try
+    (pg/with-connection [conn (assoc *CONFIG-TXT* :money-scale 7)]
+      (is false))
+    (catch PGError e
+      (is (= "money scale must be between 0 and 6: 7"
+             (ex-message e))))))
+
+
+(deftest test-range-txt-bin
+  (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+
+    (let [res (pg/execute conn "select '[1,10)'::int4range as a, 'empty'::int8range as b, '(,5]'::int4range as c")]
+      (is (= [{:a (t/range 1 10)
+               :b t/empty-range
+               :c (t/range nil 6)}]
+             res)))
+
+    (let [res (pg/execute conn "select '[1.5,2.5]'::numrange as a, '[2024-01-01,2024-02-01)'::daterange as b")]
+      (is (= [{:a (t/range 1.5M 2.5M true true)
+               :b (t/range (LocalDate/parse "2024-01-01") (LocalDate/parse "2024-02-01"))}]
+             res)))
+
+    (let [res (pg/execute conn
+                          "select $1::tstzrange as a, $2::int4range as b, $3::tsrange as c"
+                          {:params [(t/range (OffsetDateTime/parse "2024-01-01T10:00Z")
+                                             (OffsetDateTime/parse "2024-01-02T10:00Z"))
+                                    [3 7]
+                                    (t/range (LocalDateTime/parse "2024-01-01T10:00") nil)]})]
+      (is (= [{:a (t/range (OffsetDateTime/parse "2024-01-01T10:00Z")
+                           (OffsetDateTime/parse "2024-01-02T10:00Z"))
+               :b (t/range 3 7)
+               :c (t/range (LocalDateTime/parse "2024-01-01T10:00") nil)}]
+             res)))
+
+    (let [res (pg/execute conn "select '{\"[1,3)\",empty}'::int4range[] as arr")]
+      (is (= [{:arr [(t/range 1 3) t/empty-range]}] res)))))
+
+
+(deftest test-range-custom-type
+  (let [type-name (gen-type)]
+    (pg/with-connection [conn *CONFIG-BIN*]
+      (pg/execute conn (format "create type %s as range (subtype = float8)" type-name))
+      (let [res (pg/execute conn (format "select '[1.5,2.5)'::%s as range" type-name))]
+        (is (= [{:range (t/range 1.5 2.5)}] res))))))
+
+
+(deftest test-multirange-txt-bin
+  (when-not (or (is11?) (is12?) (is13?))
+    (with-configs [conn [*CONFIG-TXT* *CONFIG-BIN*]]
+
+      (let [res (pg/execute conn "select '{[1,3), [5,7)}'::int4multirange as a, '{}'::datemultirange as b")]
+        (is (= [{:a [(t/range 1 3) (t/range 5 7)]
+                 :b []}]
+               res)))
+
+      (let [res (pg/execute conn
+                            "select $1::int8multirange as a"
+                            {:params [[(t/range 1 3) [10 20]]]})]
+        (is (= [{:a [(t/range 1 3) (t/range 10 20)]}] res))))))
 
 
 (deftest test-decode-binary-text
@@ -3349,6 +3826,106 @@ drop table %1$s;
         (is (= [{:sleep nil}] res))))))
 
 
+(deftest test-preload-types
+  (let [type-name
+        (str (gensym "type"))]
+
+    (pg/with-connection [conn *CONFIG-TXT*]
+      (pg/execute conn (format "create type %s as enum ('foo', 'bar')" type-name)))
+
+    (pg/with-connection [conn (assoc *CONFIG-TXT* :preload-types? true)]
+      (let [^TypeRegistry registry (.getTypeRegistry conn)
+            oid (.getOidByType registry (str "public." type-name))]
+        (is (.isPreloaded registry))
+        (is (int? oid))
+        (is (.isKnownOid registry (int oid)))
+        (is (= [{:x "foo" :arr ["foo" "bar"]}]
+               (pg/execute conn (format "select 'foo'::%1$s as x, '{foo,bar}'::%1$s[] as arr" type-name))))))
+
+    (pg/with-connection [conn *CONFIG-TXT*]
+      (let [^TypeRegistry registry (.getTypeRegistry conn)]
+        (is (not (.isPreloaded registry)))
+        (is (nil? (.getOidByType registry (str "public." type-name)))))
+      (pg/execute conn (format "drop type %s" type-name)))))
+
+
+(deftest test-type-catalog-file
+  (let [type-name
+        (str (gensym "type"))
+
+        file
+        (doto (File/createTempFile "types" ".json")
+          (.delete))
+
+        config
+        (assoc *CONFIG-TXT* :type-catalog-file file)
+
+        query
+        (format "select 'foo'::%s as x" type-name)]
+
+    (pg/with-connection [conn *CONFIG-TXT*]
+      (pg/execute conn (format "create type %s as enum ('foo', 'bar')" type-name)))
+
+    (testing "the file is created"
+      (pg/with-connection [conn config]
+        (is (.isPreloaded ^TypeRegistry (.getTypeRegistry conn)))
+        (is (= [{:x "foo"}] (pg/execute conn query))))
+      (is (.exists file))
+      (is (-> file slurp (str/includes? type-name))))
+
+    (testing "types come from the file, a wrong checksum gets fixed"
+      (let [content (slurp file)
+            checksum (-> content (j/read-value j/keyword-keys-object-mapper) :checksum)]
+        (spit file (str/replace content checksum "wrong"))
+        (pg/with-connection [conn config]
+          (let [^TypeRegistry registry (.getTypeRegistry conn)]
+            (is (.getOidByType registry (str "public." type-name)))
+            (is (= [{:x "foo"}] (pg/execute conn query)))))
+        (loop [i 0]
+          (when (and (< i 50) (-> file slurp (str/includes? "wrong")))
+            (Thread/sleep 100)
+            (recur (inc i))))
+        (is (-> file slurp (str/includes? checksum)))))
+
+    (testing "a file of another server is ignored and rewritten"
+      (let [content (slurp file)
+            server (-> content (j/read-value j/keyword-keys-object-mapper) :server)]
+        (is (str/ends-with? server (str "/" (:database *CONFIG-TXT*))))
+        (spit file (str/replace content server "other-host:5432/test"))
+        (pg/with-connection [conn config]
+          (is (= [{:x "foo"}] (pg/execute conn query))))
+        (is (-> file slurp (str/includes? server)))
+        (is (not (-> file slurp (str/includes? "other-host"))))))
+
+    (pg/with-connection [conn *CONFIG-TXT*]
+      (pg/execute conn (format "drop type %s" type-name)))
+
+    (.delete file)))
+
+
+(deftest test-timeout-ms-option
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (is (= [{:sleep nil}]
+           (pg/query conn "select pg_sleep(0.1) as sleep" {:timeout-ms 2000})))
+
+    (doseq [f [#(pg/query conn "select pg_sleep(999) as sleep" {:timeout-ms 100})
+               #(pg/execute conn "select pg_sleep($1) as sleep" {:params [999]
+                                                                 :timeout-ms 100})]]
+      (try
+        (f)
+        (is false)
+        (catch PGErrorResponse e
+          (is (-> e ex-message (str/includes? "canceling statement due to user request"))))))
+
+    (is (= 0 (CancelTimer/pendingCount)))
+
+    (testing "ensure it has been cancelled"
+      (let [res
+            (pg/query conn "select pg_sleep(1) as sleep")]
+        (is (= [{:sleep nil}] res))))))
+
+
 (deftest test-cancel-query
 
   (let [conn1
@@ -3670,6 +4247,185 @@ copy (select s.x as X from generate_series(1, 3) as s(x)) TO STDOUT WITH (FORMAT
              res-query)))))
 
 
+(deftest test-copy-in-rows-csv-quoting
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (pg/query conn "create temp table foo (id bigint, name text)")
+
+    (let [names
+          ["" nil "plain" "a,b" "\"quoted\"" "line\r\nbreak" "\\." "Привет, мир"]
+
+          rows
+          (for [i (range 1000)]
+            [i (get names (mod i (count names)))])
+
+          res-copy
+          (pg/copy-in-rows conn
+                           "copy foo (id, name) from STDIN WITH (FORMAT CSV)"
+                           rows
+                           {:copy-buf-size 128})
+
+          res-query
+          (pg/query conn "select * from foo where id < 8 order by id")]
+
+      (is (= {:copied 1000} res-copy))
+      (is (= (for [i (range 8)]
+               {:id i :name (get names i)})
+             res-query)))))
+
+
+(deftest test-copy-in-rows-tab
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (pg/query conn "create temp table foo (id bigint, name text, active boolean)")
+
+    (let [names
+          ["" nil "plain" "tab\there" "back\\slash" "line\r\nbreak" "\\N" "\\." "Привет"]
+
+          rows
+          (for [i (range 1000)]
+            [i (get names (mod i (count names))) (even? i)])
+
+          res-copy
+          (pg/copy-in-rows conn
+                           "copy foo (id, name, active) from STDIN WITH (FORMAT TEXT)"
+                           rows
+                           {:copy-tab? true
+                            :copy-buf-size 128})
+
+          res-query
+          (pg/query conn "select * from foo where id < 9 order by id")]
+
+      (is (= {:copied 1000} res-copy))
+      (is (= (for [i (range 9)]
+               {:id i :name (get names i) :active (even? i)})
+             res-query)))))
+
+
+(deftest test-copy-out-rows-tab
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (let [sql
+          "copy (select x as id, case when x = 2 then null else E'a\\tb\\\\c\\nd ' || x end as name, x % 2 = 0 as even from generate_series(1, 3) as x) TO STDOUT WITH (FORMAT TEXT)"]
+
+      (is (= [[1 "a\tb\\c\nd 1" false]
+              [2 nil true]
+              [3 "a\tb\\c\nd 3" false]]
+             (pg/copy-out-rows conn sql {:copy-tab? true
+                                         :oids [oid/int4 oid/text oid/bool]})))
+
+      (is (= [["1" "a\tb\\c\nd 1" "f"]
+              ["2" nil "t"]
+              ["3" "a\tb\\c\nd 3" "f"]]
+             (pg/copy-out-rows conn sql {:copy-tab? true})))
+
+      (is (= [1 2 3]
+             (pg/copy-out-rows conn sql {:copy-tab? true
+                                         :oids [oid/int4]
+                                         :column 0})))
+
+      (try
+        (pg/copy-out-rows conn "copy (select 1) TO STDOUT WITH (FORMAT CSV)")
+        (is false)
+        (catch PGError e
+          (is (= "Unhandled exception: COPY OUT rows: CSV format is not supported"
+                 (ex-message e)))))
+
+      (is (= [{:one 1}] (pg/query conn "select 1 as one"))))))
+
+
+(deftest test-copy-out-rows-bin
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (let [sql
+          "copy (select x::int8 as id, case when x = 2 then null else 'name' || x end as name, x % 2 = 0 as even, '2024-01-01'::date + x as day from generate_series(1, 3) as x) TO STDOUT WITH (FORMAT BINARY)"]
+
+      (is (= [[1 "name1" false (LocalDate/parse "2024-01-02")]
+              [2 nil true (LocalDate/parse "2024-01-03")]
+              [3 "name3" false (LocalDate/parse "2024-01-04")]]
+             (pg/copy-out-rows conn sql {:copy-bin? true
+                                         :oids [oid/int8 oid/text oid/bool oid/date]})))
+
+      (is (= 6
+             (pg/copy-out-rows conn sql {:copy-bin? true
+                                         :oids [oid/int8]
+                                         :reduce [(fn [acc [id]] (+ acc id)) 0]})))
+
+      (is (= [[0 0 0 1] nil [0 0 0 3]]
+             (pg/copy-out-rows conn
+                               "copy (select nullif(x, 2) from generate_series(1, 3) as x) TO STDOUT WITH (FORMAT BINARY)"
+                               {:copy-bin? true
+                                :into [(map (fn [[v]] (some-> v vec))) []]})))
+
+      (try
+        (pg/copy-out-rows conn
+                          "copy (select 1) TO STDOUT WITH (FORMAT TEXT)"
+                          {:copy-bin? true})
+        (is false)
+        (catch PGError e
+          (is (= "Unhandled exception: wrong binary COPY signature, make sure the SQL expression uses the BINARY format"
+                 (ex-message e)))))
+
+      (is (= [{:one 1}] (pg/query conn "select 1 as one"))))))
+
+
+(deftest test-copy-out-channel-and-file
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (let [sql
+          "copy (select x, 'name' || x from generate_series(1, 10000) as x) TO STDOUT WITH (FORMAT CSV)"
+
+          out
+          (new ByteArrayOutputStream)
+
+          _
+          (pg/copy-out conn sql out)
+
+          expected
+          (.toByteArray out)
+
+          out-ch
+          (new ByteArrayOutputStream)
+
+          res-ch
+          (pg/copy-out-channel conn
+                               sql
+                               (java.nio.channels.Channels/newChannel out-ch)
+                               {:copy-buf-size 1000})
+
+          file-1
+          (File/createTempFile "test" ".csv")
+
+          res-file
+          (pg/copy-out-file conn sql file-1)
+
+          file-2
+          (File/createTempFile "test" ".csv")
+
+          res-mmap
+          (pg/copy-out-file conn sql (.toPath file-2) {:mmap-size 4096})]
+
+      (is (= 10000 (:copied res-ch) (:copied res-file) (:copied res-mmap)))
+      (is (= (alength expected) (:bytes res-ch) (:bytes res-file) (:bytes res-mmap)))
+      (is (pos? (:bytes-per-sec res-mmap)))
+
+      (is (= (vec expected) (vec (.toByteArray out-ch))))
+      (is (= (slurp (io/input-stream expected)) (slurp file-1) (slurp file-2)))
+
+      (try
+        (pg/copy-out-file conn "copy (select 1 / 0) TO STDOUT" file-1)
+        (is false)
+        (catch PGErrorResponse e
+          (is (-> e ex-message (str/includes? "division by zero")))))
+
+      (is (= [{:one 1}] (pg/query conn "select 1 as one"))))))
+
+
 (deftest test-copy-in-rows-null-values
 
   (pg/with-connection [conn *CONFIG-TXT*]
@@ -3758,6 +4514,86 @@ copy (select s.x as X from generate_series(1, 3) as s(x)) TO STDOUT WITH (FORMAT
              res-query)))))
 
 
+(deftest test-copy-in-rows-bin-frames
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (pg/query conn "create temp table foo (id bigint, name text, note text)")
+
+    (let [big
+          (apply str (repeat 1000 "x"))
+
+          rows
+          (for [i (range 10000)]
+            [i (str "name" i) (when (zero? (mod i 1000)) big)])
+
+          res-copy
+          (pg/copy-in-rows conn
+                           "copy foo (id, name, note) from STDIN WITH (FORMAT BINARY)"
+                           rows
+                           {:copy-bin? true
+                            :copy-buf-size 256})
+
+          res-query
+          (pg/query conn "select count(*) as total, sum(id) as sum, count(note) as notes, max(length(note)) as len from foo")]
+
+      (is (= {:copied 10000} res-copy))
+      (is (= [{:total 10000 :sum 49995000M :notes 10 :len 1000}]
+             res-query)))))
+
+
+(deftest test-copy-in-rows-thread
+
+  (pg/with-connection [conn *CONFIG-TXT*]
+
+    (pg/query conn "create temp table foo (id bigint, name text)")
+
+    (doseq [opt [{:copy-bin? true} {:copy-csv? true} {:copy-tab? true}]]
+
+      (pg/query conn "truncate foo")
+
+      (let [rows
+            (for [i (range 10000)]
+              [i (str "name" i)])
+
+            res-copy
+            (pg/copy-in-rows conn
+                             (format "copy foo (id, name) from STDIN WITH (FORMAT %s)"
+                                     (cond
+                                       (:copy-bin? opt) "BINARY"
+                                       (:copy-csv? opt) "CSV"
+                                       :else "TEXT"))
+                             rows
+                             (assoc opt
+                                    :copy-in-thread? true
+                                    :copy-buf-size 1024))]
+
+        (is (= {:copied 10000} res-copy))
+        (is (= [{:count 10000 :sum 49995000M}]
+               (pg/query conn "select count(*), sum(id) from foo")))))
+
+    (testing "exception in the middle"
+      (let [rows
+            (concat (for [i (range 5000)]
+                      [i "name"])
+                    [[(new Object) "name"]])]
+        (try
+          (pg/copy-in-rows conn
+                           "copy foo (id, name) from STDIN WITH (FORMAT BINARY)"
+                           rows
+                           {:copy-bin? true
+                            :copy-in-thread? true
+                            :copy-buf-size 1024})
+          (is false)
+          (catch PGError e
+            (is (-> e
+                    (ex-message)
+                    (str/starts-with? "Unhandled exception: cannot coerce value to long")))))
+
+        (is (= :I (pg/status conn)))
+        (is (= [{:one 1}] (pg/query conn "select 1 as one")))))))
+
+
 (deftest test-copy-in-broken-csv
 
   (pg/with-connection [conn *CONFIG-TXT*]
@@ -4140,6 +4976,33 @@ copy (select s.x as X from generate_series(1, 3) as s(x)) TO STDOUT WITH (FORMAT
       (is (= [{:in_array true}] res)))))
 
 
+(deftest test-array-java-bin
+  (pg/with-connection [conn (assoc *CONFIG-TXT* :binary-encode? true)]
+    (let [res (pg/execute conn
+                          "select 2 = ANY ($1) as in_array, $2::text[] as strings, $3::float8[] as doubles"
+                          {:params [(long-array [1 2 3])
+                                    (into-array String ["a" "b"])
+                                    (double-array [1.5 2.5])]})]
+      (is (= [{:in_array true
+               :strings ["a" "b"]
+               :doubles [1.5 2.5]}]
+             res)))))
+
+
+(deftest test-array-primitive-decode
+  (pg/with-connection [conn (assoc *CONFIG-BIN* :primitive-arrays? true)]
+    (let [{:keys [ints floats with_nulls matrix]}
+          (pg/execute conn
+                      "select '{1,2,3}'::int4[] as ints, '{1.5,2.5}'::float8[] as floats, '{1,null}'::int8[] as with_nulls, '{{1,2},{3,4}}'::int8[] as matrix"
+                      {:first true})]
+      (is (= [1 2 3] (vec ints)))
+      (is (instance? (Class/forName "[I") ints))
+      (is (= [1.5 2.5] (vec floats)))
+      (is (instance? (Class/forName "[D") floats))
+      (is (= [1 nil] with_nulls))
+      (is (= [[1 2] [3 4]] matrix)))))
+
+
 (deftest test-honey-query
 
   (pg/with-connection [conn *CONFIG-TXT*]
@@ -4349,6 +5212,49 @@ copy (select s.x as X from generate_series(1, 3) as s(x)) TO STDOUT WITH (FORMAT
              res)))))
 
 
+(deftest test-client-vector-modes
+
+  (pg/with-conn [conn (assoc *CONFIG-BIN* :vector-mode :array)]
+    (pg/query conn "create temp table test (id int, items vector(3))")
+    (pg/execute conn "insert into test values ($1, $2)" {:params [1 (float-array [1 2 3])]})
+    (let [[{:keys [items]}] (pg/execute conn "select * from test")]
+      (is (instance? (Class/forName "[F") items))
+      (is (= [1.0 2.0 3.0] (vec items)))))
+
+  (pg/with-conn [conn (assoc *CONFIG-TXT* :vector-mode :array)]
+    (let [[{:keys [v]}] (pg/execute conn "select '[1,2,3]'::vector(3) as v")]
+      (is (= [1.0 2.0 3.0] (vec v)))))
+
+  (pg/with-conn [conn (assoc *CONFIG-BIN* :vector-mode :buffer)]
+    (let [[{:keys [v]}] (pg/execute conn "select '[1,2,3]'::vector(3) as v")]
+      (is (instance? java.nio.FloatBuffer v))
+      (is (= 3.0 (.get ^java.nio.FloatBuffer v 2))))))
+
+
+(deftest test-client-vector-copy-in-float-array
+  (pg/with-conn [conn *CONFIG-BIN*]
+    (pg/query conn "create temp table test (id int, items vector(3))")
+    (let [rows
+          (for [i (range 1 4)]
+            [i (float-array [i (inc i) (+ i 2)])])
+
+          res-copy
+          (pg/copy-in-rows conn
+                           "copy test (id, items) from STDIN WITH (FORMAT BINARY)"
+                           rows
+                           {:copy-format pg/COPY_FORMAT_BIN
+                            :oids [oid/int4 (pg/oid conn :vector)]})
+
+          res-query
+          (pg/query conn "select * from test order by id")]
+
+      (is (= {:copied 3} res-copy))
+      (is (= [{:id 1, :items [1.0 2.0 3.0]}
+              {:id 2, :items [2.0 3.0 4.0]}
+              {:id 3, :items [3.0 4.0 5.0]}]
+             res-query)))))
+
+
 (deftest test-client-bit-txt-ok-15-bit
   (pg/with-conn [conn *CONFIG-TXT*]
     (let [res (pg/execute conn "select '00010001'::bit(32) as b")]
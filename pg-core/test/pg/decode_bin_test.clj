@@ -193,3 +193,44 @@
         (pg/decode-bin BUF-ARRAY-2X3-INT4 oid/_int4)]
     (is (= [[1 2 3] [4 nil 6]]
            res))))
+
+
+(def BUF-ARRAY-3-INT8
+  (->bb
+   [0,  0,  0,  1,  ;; dims
+    0,  0,  0,  0,  ;; nulls false
+    0,  0,  0,  20, ;; oid
+    0,  0,  0,  3,  ;; dim1 = 3
+    0,  0,  0,  1,  ;; ?
+    0,  0,  0,  8,  ;; len
+    0,  0,  0,  0,  0,  0,  0,  1,
+    0,  0,  0,  8,  ;; len
+    0,  0,  0,  0,  0,  0,  0,  2,
+    0,  0,  0,  8,  ;; len
+    0,  0,  0,  0,  0,  0,  0,  3]))
+
+
+(deftest test-decode-array-bin-primitive
+
+  (testing "long array"
+    (let [res
+          (pg/decode-bin BUF-ARRAY-3-INT8 oid/_int8 {:primitive-arrays? true})]
+      (is (instance? (Class/forName "[J") res))
+      (is (= [1 2 3] (vec res)))))
+
+  (testing "off by default"
+    (let [res
+          (pg/decode-bin BUF-ARRAY-3-INT8 oid/_int8)]
+      (is (= [1 2 3] res))))
+
+  (testing "nulls and multi-dim fall back to vectors"
+    (let [res
+          (pg/decode-bin BUF-ARRAY-2X3-INT4 oid/_int4 {:primitive-arrays? true})]
+      (is (= [[1 2 3] [4 nil 6]]
+             res))))
+
+  (testing "double array"
+    (let [buf (pg/encode-bin [1.5 2.5] oid/_float8)
+          res (pg/decode-bin buf oid/_float8 {:primitive-arrays? true})]
+      (is (instance? (Class/forName "[D") res))
+      (is (= [1.5 2.5] (vec res))))))
@@ -6,14 +6,19 @@
    java.time.LocalTime
    java.time.OffsetDateTime
    java.time.OffsetTime
+   java.time.format.DateTimeParseException
    java.util.UUID
-   org.pg.error.PGError)
+   org.pg.codec.CodecParams
+   org.pg.error.PGError
+   org.pg.processor.IProcessor
+   org.pg.processor.Processors)
   (:require
    [clojure.string :as str]
    [clojure.test :refer [deftest is testing]]
    [jsonista.core :as j]
    [pg.core :as pg]
-   [pg.oid :as oid]))
+   [pg.oid :as oid]
+   [pg.type :as t]))
 
 
 (defn reverse-string [s]
@@ -338,6 +343,75 @@
         (is (= output (str res)))))))
 
 
+(deftest decode-datetime-txt-edge-cases
+
+  (is (= "2024-01-13T21:08:57+05:30:15"
+         (str (pg/decode-txt "2024-01-13 21:08:57+05:30:15" oid/timestamptz))))
+
+  (is (= "21:08:57.000001-00:30"
+         (str (pg/decode-txt "21:08:57.000001-00:30" oid/timetz))))
+
+  (is (= "0001-01-01T00:00"
+         (str (pg/decode-txt "0001-01-01 00:00:00" oid/timestamp))))
+
+  (is (= "2024-02-29T23:59:59.999999"
+         (str (pg/decode-txt "2024-02-29 23:59:59.999999" oid/timestamp))))
+
+  ;; not ISO: handled by the formatter which fails
+  (is (thrown? DateTimeParseException
+               (pg/decode-txt "01/13/2024" oid/date)))
+
+  (is (thrown? DateTimeParseException
+               (pg/decode-txt "2024-01-13 BC" oid/date))))
+
+
+(defn decode-bytes
+  "
+  Decode a text value from the middle of a byte array
+  like it happens when parsing a DataRow message.
+  "
+  [^String string oid]
+  (let [^IProcessor processor (Processors/getProcessor oid)
+        bytes (.getBytes (str "__" string "__") "UTF-8")
+        len (- (alength bytes) 4)]
+    (.decodeTxt processor bytes 2 len (CodecParams/create))))
+
+
+(deftest test-decode-byte-range
+
+  (doseq [[string oid]
+          [["-32768" oid/int2]
+           ["2147483647" oid/int4]
+           ["-9223372036854775808" oid/int8]
+           ["123456789012345678" oid/int8]
+           ["3.14" oid/float4]
+           ["-1.17549435e-38" oid/float4]
+           ["0.1" oid/float8]
+           ["-123456.789012345" oid/float8]
+           ["1.7976931348623157e+308" oid/float8]
+           ["-Infinity" oid/float8]
+           ["t" oid/bool]
+           ["f" oid/bool]
+           ["6e6388d3-3930-47f5-bfe4-88d9588e0edb" oid/uuid]
+           ["2024-02-29" oid/date]
+           ["10:29:39.1234" oid/time]
+           ["2023-07-10 22:25:22.046553+03" oid/timestamptz]
+           ["hello" oid/text]]]
+
+    (testing string
+      (is (= (pg/decode-txt string oid)
+             (decode-bytes string oid)))))
+
+  (is (thrown? NumberFormatException
+               (decode-bytes "32768" oid/int2)))
+
+  (is (thrown? NumberFormatException
+               (decode-bytes "1.5" oid/int8)))
+
+  (is (thrown-with-msg? PGError #"wrong boolean value: true"
+                        (decode-bytes "true" oid/bool))))
+
+
 (deftest test-json-custom-mapper
   (let [string
         (j/write-value-as-string {:foo 42})
@@ -348,3 +422,29 @@
                        {:object-mapper custom-mapper})]
 
     (is (= {:oof 42} data))))
+
+
+(deftest test-decode-interval-inet-mac-txt
+
+  (testing "interval"
+    (is (= (t/interval 14 -3 14706789000)
+           (pg/decode-txt "1 year 2 mons -3 days +04:05:06.789" oid/interval)
+           (pg/decode-txt "P1Y2M-3DT4H5M6.789S" oid/interval)))
+    (is (= (t/interval 0 0 -1500000)
+           (pg/decode-txt "-00:00:01.5" oid/interval))))
+
+  (testing "inet"
+    (is (= (t/inet "192.168.0.1/24")
+           (pg/decode-txt "192.168.0.1/24" oid/inet)))
+    ;; an IPv4-mapped address stays IPv6
+    (is (= "0:0:0:0:0:ffff:102:304"
+           (str (pg/decode-txt "::ffff:1.2.3.4" oid/inet))))
+    (is (= "2001:db8:0:0:0:0:0:0/32"
+           (str (pg/decode-txt "2001:db8::/32" oid/cidr)))))
+
+  (testing "macaddr"
+    (is (= (t/mac-address "08:00:2b:01:02:03")
+           (pg/decode-txt "0800.2b01.0203" oid/macaddr)
+           (pg/decode-txt "08002b:010203" oid/macaddr)))
+    (is (= "08:00:2b:ff:fe:01:02:03"
+           (str (.toEUI64 (pg/decode-txt "08-00-2b-01-02-03" oid/macaddr8)))))))
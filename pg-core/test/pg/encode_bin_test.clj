@@ -609,3 +609,60 @@
           buf (pg/encode-bin val1 oid/_numeric)
           val2 (pg/decode-bin buf oid/_numeric)]
       (is (= val1 val2)))))
+
+
+(deftest test-arrays-java
+
+  (testing "long array"
+    (let [buf (pg/encode-bin (long-array [1 2 3]) oid/_int8)
+          val2 (pg/decode-bin buf oid/_int8)]
+      (is (= [1 2 3] val2))))
+
+  (testing "long array into int4"
+    (let [buf (pg/encode-bin (long-array [1 2 3]) oid/_int4)
+          val2 (pg/decode-bin buf oid/_int4)]
+      (is (= [1 2 3] val2))))
+
+  (testing "int array"
+    (let [buf (pg/encode-bin (int-array [1 2 3]) oid/_int4)]
+      (is (= [0 0 0 1 0 0 0 0 0 0 0 23 0 0 0 3 0 0 0 1
+              0 0 0 4 0 0 0 1
+              0 0 0 4 0 0 0 2
+              0 0 0 4 0 0 0 3]
+             (-> buf .array vec)))))
+
+  (testing "double array"
+    (let [buf (pg/encode-bin (double-array [1.1 2.2]) oid/_float8)
+          val2 (pg/decode-bin buf oid/_float8)]
+      (is (= [1.1 2.2] val2))))
+
+  (testing "float array"
+    (let [buf (pg/encode-bin (float-array [1.5 2.5]) oid/_float4)
+          val2 (pg/decode-bin buf oid/_float4)]
+      (is (= [(float 1.5) (float 2.5)] val2))))
+
+  (testing "long array into numeric"
+    (let [buf (pg/encode-bin (long-array [1 2]) oid/_numeric)
+          val2 (pg/decode-bin buf oid/_numeric)]
+      (is (= [1M 2M] val2))))
+
+  (testing "string array"
+    (let [buf (pg/encode-bin (into-array String ["a" nil "b"]) oid/_text)
+          val2 (pg/decode-bin buf oid/_text)]
+      (is (= ["a" nil "b"] val2))))
+
+  (testing "uuid array"
+    (let [uuid #uuid "3264e20e-47d6-4a5f-babd-4cf965b333ef"
+          buf (pg/encode-bin (into-array java.util.UUID [uuid nil]) oid/_uuid)
+          val2 (pg/decode-bin buf oid/_uuid)]
+      (is (= [uuid nil] val2))))
+
+  (testing "default oids"
+    (let [buf (pg/encode-bin (long-array [1 2 3]))
+          val2 (pg/decode-bin buf oid/_int8)]
+      (is (= [1 2 3] val2))))
+
+  (testing "empty array"
+    (let [buf (pg/encode-bin (long-array []) oid/_int8)
+          val2 (pg/decode-bin buf oid/_int8)]
+      (is (= [] val2)))))
@@ -16,7 +16,8 @@
    [clojure.test :refer [deftest is testing]]
    [jsonista.core :as j]
    [pg.core :as pg]
-   [pg.oid :as oid]))
+   [pg.oid :as oid]
+   [pg.type :as t]))
 
 
 (defn reverse-string [s]
@@ -273,6 +274,25 @@
       (is (= "2023-07-25" res)))))
 
 
+(deftest test-datetime-padding
+
+  (is (= "0099-01-02 03:04:05.000006+00"
+         (pg/encode-txt (Instant/parse "0099-01-02T03:04:05.000006789Z"))))
+
+  (is (= "0005-01-01"
+         (pg/encode-txt (LocalDate/of 5 1 1))))
+
+  (is (= "00:00:00.000000-0030"
+         (pg/encode-txt (OffsetTime/parse "00:00-00:30"))))
+
+  (is (= "23:59:59.999999+0545"
+         (pg/encode-txt (OffsetTime/parse "23:59:59.999999999+05:45"))))
+
+  ;; the formatter handles the rest
+  (is (= "+12345-01-01"
+         (pg/encode-txt (LocalDate/of 12345 1 1)))))
+
+
 (deftest test-json-custom-mapper
   (let [string
         (pg/encode-txt {:foo 123}
@@ -455,3 +475,20 @@
                             [(OffsetDateTime/parse "2025-02-03T23:59:00-03") nil]]
                            oid)]
         (is (= "{{\"2024-01-03 23:59:59.000000+00\",NULL},{\"2025-02-04 02:59:00.000000+00\",NULL}}" result))))))
+
+
+(deftest test-encode-interval-inet-mac-txt
+
+  (testing "interval"
+    (is (= "P14M-3DT14706.789S"
+           (pg/encode-txt (t/interval 14 -3 14706789000) oid/interval))))
+
+  (testing "inet"
+    (is (= "192.168.0.1/24"
+           (pg/encode-txt (t/inet "192.168.0.1/24") oid/inet)))
+    (is (= "2001:db8:0:0:0:0:0:0/32"
+           (pg/encode-txt (t/inet "2001:db8::/32") oid/cidr))))
+
+  (testing "macaddr"
+    (is (= "08:00:2b:01:02:03"
+           (pg/encode-txt (t/mac-address "0800.2b01.0203") oid/macaddr)))))
@@ -136,6 +136,45 @@
     (is (= data (new String (.array encoded) "UTF-8")))))
 
 
+(deftest test-raw-json
+
+  (let [data
+        "{\"foo\": [1, 2, 3]}"
+
+        encoded
+        (pg/encode-bin data oid/jsonb)
+
+        decoded-bin
+        (pg/decode-bin encoded oid/jsonb {:raw-json? true})
+
+        decoded-txt
+        (pg/decode-txt data oid/json {:raw-json? true})]
+
+    (is (json/raw? decoded-bin))
+    (is (json/raw? decoded-txt))
+    (is (= data (str decoded-bin) (str decoded-txt)))
+    (is (= {:foo [1 2 3]} @decoded-bin))
+
+    (is (= [1 123 34 102 111 111 34 58 32 91 49 44 32 50 44 32 51 93 125]
+           (-> decoded-bin (pg/encode-bin oid/jsonb) .array vec)))
+    (is (= data
+           (pg/encode-txt decoded-txt oid/json)))
+
+    (is (= "{\"raw\":{\"foo\": [1, 2, 3]},\"items\":[{\"foo\": [1, 2, 3]}]}"
+           (json/write-string {:raw decoded-bin :items [decoded-txt]})))
+
+    (is (= "{\"war\":{\"foo\": [1, 2, 3]}}"
+           (json/write-string custom-mapper {:raw decoded-bin})))
+
+    ;; deref uses the mapper the value was decoded with
+    (is (= {:oof [1 2 3]}
+           @(pg/decode-bin encoded oid/jsonb {:raw-json? true
+                                              :object-mapper custom-mapper})
+           @(pg/decode-txt data oid/json {:raw-json? true
+                                          :object-mapper custom-mapper})))
+    (is (= {:foo [1 2 3]} @(json/raw data)))))
+
+
 (deftest test-json-read-&-write-string
 
   (let [string
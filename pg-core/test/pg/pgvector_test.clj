@@ -1,5 +1,8 @@
 (ns pg.pgvector-test
   (:import
+   java.nio.FloatBuffer
+   org.pg.codec.CodecParams
+   org.pg.enums.VectorMode
    org.pg.error.PGError)
   (:require
    [pg.bb :refer [bb== ->bb]]
@@ -72,6 +75,32 @@
            (.decodeBin t/vector bb nil)))))
 
 
+(deftest test-vector-float-array
+
+  (is (= [0 3 0 0 63 -128 0 0 64 0 0 0 64 64 0 0]
+         (vec (.array (.encodeBin t/vector (float-array [1 2 3]) nil)))))
+
+  (is (= "[1.0,2.0,3.0]"
+         (.encodeTxt t/vector (float-array [1 2 3]) nil)))
+
+  (let [cp (-> (CodecParams/create)
+               (.vectorMode VectorMode/ARRAY))
+        res1 (.decodeBin t/vector (->bb [0 3 0 0 63 -128 0 0 64 0 0 0 64 64 0 0]) cp)
+        res2 (.decodeTxt t/vector "[1, 2, 3]" cp)]
+    (is (instance? (Class/forName "[F") res1))
+    (is (= [1.0 2.0 3.0] (vec res1)))
+    (is (= [1.0 2.0 3.0] (vec res2))))
+
+  (let [cp (-> (CodecParams/create)
+               (.vectorMode VectorMode/BUFFER))
+        ^FloatBuffer fb (.decodeBin t/vector (->bb [0 3 0 0 63 -128 0 0 64 0 0 0 64 64 0 0]) cp)]
+    (is (.isReadOnly fb))
+    (is (= 3 (.remaining fb)))
+    (is (= 2.0 (.get fb 1)))
+    (is (= [0 3 0 0 63 -128 0 0 64 0 0 0 64 64 0 0]
+           (vec (.array (.encodeBin t/vector fb nil)))))))
+
+
 (deftest test-sparsevec-parse-bin
   (let [bb (->bb [0, 0, 0, 5, 0, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 0, 4, 63, -128, 0, 0, 64, 0, 0, 0, 64, 64, 0, 0])
         res (.decodeBin t/sparsevec bb nil)]
@@ -152,6 +181,11 @@
   ;; iter
   (let [bb (.encodeBin t/sparsevec (map inc [1 2 3]) nil)]
     (is (= [0 0 0 3 0 0 0 3 0 0 0 0 0 0 0 0 0 0 0 1 0 0 0 2 64 0 0 0 64 64 0 0 64 -128 0 0]
+           (-> bb .array vec))))
+
+  ;; float array
+  (let [bb (.encodeBin t/sparsevec (float-array [0 1 0 2]) nil)]
+    (is (= [0 0 0 4 0 0 0 2 0 0 0 0 0 0 0 1 0 0 0 3 63 -128 0 0 64 0 0 0]
            (-> bb .array vec)))))
 
 (deftest test-sparsevec-encode-txt
@@ -1,9 +1,13 @@
 (ns pg.pool-test
   (:import
    (java.util HashSet)
+   (org.pg Connection
+           Pool)
+   (org.pg.codec TypeRegistry)
    (org.pg.error PGError
                  PGErrorResponse))
   (:require
+   [clojure.java.io :as io]
    [clojure.string :as str]
    [clojure.test :refer [deftest is use-fixtures testing]]
    [pg.core :as pg]
@@ -558,3 +562,154 @@
 
             (let [res (pg/execute conn2 "select 1 as one")]
               (is (= [{:one 1}] res)))))))))
+
+
+(deftest test-pool-copy-in-parallel
+  (let [table (format "copy_parallel_%s" (System/nanoTime))]
+    (pool/with-pool [pool (assoc *CONFIG* :pool-max-size 4)]
+      (try
+        (pg/query pool (format "create table %s (id bigint primary key, name text)" table))
+
+        (testing "rows"
+          (let [rows
+                (for [i (range 10000)]
+                  [i (str "name" i)])
+
+                res
+                (pool/copy-in-parallel pool
+                                       (format "copy %s (id, name) from STDIN WITH (FORMAT BINARY)" table)
+                                       rows
+                                       {:copy-bin? true
+                                        :workers 3
+                                        :chunk-size 1000})]
+
+            (is (= 10000 (:copied res)))
+            (is (:ok? res))
+            (is (= (range 10) (map :chunk (:chunks res))))
+            (is (every? #(= 1000 (:rows %) (:copied %)) (:chunks res)))
+            (is (= [{:count 10000 :sum 49995000M}]
+                   (pg/query pool (format "select count(*), sum(id) from %s" table))))
+            (is (= 0 (pool/used-count pool)))))
+
+        (testing "atomic rollback"
+          (let [rows
+                (for [i (range 10000 20000)]
+                  [(if (= i 15555) 1 i) (str "name" i)])
+
+                res
+                (pool/copy-in-parallel pool
+                                       (format "copy %s (id, name) from STDIN WITH (FORMAT CSV)" table)
+                                       rows
+                                       {:workers 3
+                                        :chunk-size 1000
+                                        :atomic? true})]
+
+            (is (= 0 (:copied res)))
+            (is (false? (:ok? res)))
+            (is (false? (:committed? res)))
+            (is (= 1 (count (filter :error (:chunks res)))))
+            (is (= [{:count 10000}]
+                   (pg/query pool (format "select count(*) from %s" table))))))
+
+        (testing "CSV stream"
+          (let [csv
+                (with-out-str
+                  (doseq [i (range 20000 25000)]
+                    (print (format "%s,\"multi\nline, %s\"\n" i i))))
+
+                res
+                (pool/copy-in-parallel pool
+                                       (format "copy %s (id, name) from STDIN WITH (FORMAT CSV)" table)
+                                       (io/input-stream (.getBytes ^String csv "UTF-8"))
+                                       {:workers 2
+                                        :chunk-size 4096
+                                        :atomic? true})]
+
+            (is (= 5000 (:copied res)))
+            (is (:committed? res))
+            (is (< 1 (count (:chunks res))))
+            (is (= [{:name "multi\nline, 24999"}]
+                   (pg/query pool (format "select name from %s where id = 24999" table))))))
+
+        (testing "header"
+          (try
+            (pool/copy-in-parallel pool
+                                   (format "copy %s (id, name) from STDIN WITH (FORMAT CSV, HEADER true)" table)
+                                   (io/input-stream (.getBytes "id,name\n1,aaa\n" "UTF-8")))
+            (is false)
+            (catch PGError e
+              (is (re-find #"doesn't support the HEADER option" (ex-message e)))))
+          (is (= 0 (pool/used-count pool))))
+
+        (testing "iterator"
+          (let [rows
+                (.iterator ^Iterable (for [i (range 30000 32000)]
+                                       [i (str "name" i)]))
+
+                res
+                (pool/copy-in-parallel pool
+                                       (format "copy %s (id, name) from STDIN WITH (FORMAT CSV)" table)
+                                       rows
+                                       {:workers 2
+                                        :chunk-size 500})]
+
+            (is (= 2000 (:copied res)))
+            (is (:ok? res))
+            (is (= 4 (count (:chunks res))))))
+
+        (testing "reducible"
+          (let [rows
+                (reify clojure.lang.IReduceInit
+                  (reduce [_ f init]
+                    (loop [i 40000
+                           acc init]
+                      (if (< i 42500)
+                        (recur (inc i) (f acc [i (str "name" i)]))
+                        acc))))
+
+                res
+                (pool/copy-in-parallel pool
+                                       (format "copy %s (id, name) from STDIN WITH (FORMAT CSV)" table)
+                                       rows
+                                       {:workers 2
+                                        :chunk-size 1000})]
+
+            (is (= 2500 (:copied res)))
+            (is (:ok? res))
+            (is (= [1000 1000 500] (map :rows (:chunks res))))
+            (is (= [{:count 2500}]
+                   (pg/query pool (format "select count(*) from %s where id >= 40000" table))))))
+
+        (finally
+          (pg/query pool (format "drop table %s" table)))))))
+
+
+(deftest test-pool-shared-type-registry
+  (let [type-name
+        (str (gensym "type"))]
+
+    (pool/with-pool [pool (assoc *CONFIG* :pool-min-size 2 :pool-max-size 2)]
+      (pool/with-pool [pool2 *CONFIG*]
+
+        (let [^TypeRegistry registry (.getTypeRegistry ^Pool pool)
+              ^TypeRegistry registry2 (.getTypeRegistry ^Pool pool2)]
+
+          (is (identical? registry registry2))
+
+          (pool/with-connection [conn1 pool]
+            (pool/with-connection [conn2 pool]
+
+              (is (not= (.getId ^Connection conn1) (.getId ^Connection conn2)))
+
+              (pg/execute conn1 (format "create type %s as enum ('foo', 'bar')" type-name))
+              (pg/execute conn1 (format "select 'foo'::%s as x" type-name))
+
+              (let [oid (.getOidByType registry (str "public." type-name))]
+                (is (int? oid))
+                (is (.isKnownOid registry (int oid)))
+                (is (= oid (pg/oid conn2 type-name))))
+
+              (is (= [{:x "bar"}]
+                     (pg/execute conn2 (format "select 'bar'::%s as x" type-name))))
+
+              (pg/execute conn1 (format "drop type %s" type-name)))))))))
@@ -61,6 +61,30 @@
            response))))
 
 
+(deftest test-wrap-response-raw
+
+  (let [raw
+        (json/raw "{\"foo\": 42}")
+
+        handler
+        (-> (fn [request]
+              {:status 200
+               :body (:body request)})
+            wrap-json-response)]
+
+    (is (= {:status 200,
+            :body "{\"foo\": 42}"
+            :headers {"content-type"
+                      "application/json; encoding=utf-8"}}
+           (handler {:body raw})))
+
+    (is (= {:status 200,
+            :body "[{\"foo\": 42},{\"foo\": 42}]"
+            :headers {"content-type"
+                      "application/json; encoding=utf-8"}}
+           (handler {:body [raw raw]})))))
+
+
 (deftest test-wrap-request-ok
 
   (let [opt
@@ -3,8 +3,80 @@
    [pg.core :as pg]
    [clojure.test :refer [deftest is testing]])
   (:import
-   org.pg.error.PGError))
+   org.pg.error.PGError
+   org.pg.util.IntMap))
 
 
 (deftest test-dunno
   (is (= 1 1)))
+
+
+(deftest test-int-map-collisions
+  ;; 1, 30 and 35 land in the same cell of a 16-cell table
+  (let [m (new IntMap)]
+    (.put m 1 :a)
+    (.put m 30 :b)
+    (.put m 35 :c)
+    (is (= :a (.get m 1)))
+    (is (= :b (.get m 30)))
+    (is (= :c (.get m 35)))
+    (is (nil? (.get m 64)))
+    (is (not (.containsKey m 64)))
+    (is (= 3 (.size m)))))
+
+
+(deftest test-int-map-growth
+  (let [m (new IntMap)]
+    (doseq [k (range 100)]
+      (.put m (int k) (str "v" k)))
+    (is (= 100 (.size m)))
+    (is (every? (fn [k]
+                  (= (str "v" k) (.get m (int k))))
+                (range 100)))
+    (is (nil? (.get m 100)))
+    (is (nil? (.get m -1)))))
+
+
+(deftest test-int-map-overwrite
+  (let [m (new IntMap)]
+    (.put m 42 :a)
+    (.put m 42 :b)
+    (is (= :b (.get m 42)))
+    (is (= 1 (.size m)))
+    (is (= "{42=:b}" (str m)))
+    (try
+      (.put m 1 nil)
+      (is false)
+      (catch NullPointerException e
+        (is (= "IntMap value cannot be null" (ex-message e)))))))
+
+
+(deftest test-int-map-clear
+  (let [m (new IntMap)]
+    (doseq [k (range 20)]
+      (.put m (int k) k))
+    (.clear m)
+    (is (= 0 (.size m)))
+    (is (nil? (.get m 1)))
+    (.put m 1 :a)
+    (is (= :a (.get m 1)))))
+
+
+(deftest test-int-map-replace-with
+  (let [m1 (new IntMap)
+        m2 (new IntMap)]
+    (.put m1 1 :a)
+    (.put m1 2 :b)
+    (.put m2 2 :c)
+    (.put m2 3 :d)
+    (.replaceWith m1 m2)
+    (is (nil? (.get m1 1)))
+    (is (= :c (.get m1 2)))
+    (is (= :d (.get m1 3)))
+    (is (= 2 (.size m1)))
+
+    ;; the maps don't share further writes
+    (.put m2 4 :e)
+    (is (nil? (.get m1 4)))
+    (.put m1 5 :f)
+    (is (nil? (.get m2 5)))))